@@ -0,0 +1,187 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.facets.fork;
+
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.takes.Request;
+import org.takes.Response;
+import org.takes.Take;
+import org.takes.rq.RqFake;
+import org.takes.rs.RsText;
+import org.takes.rs.RsWithStatus;
+import org.takes.tk.TkFixed;
+
+/**
+ * Benchmark of routing with {@link TkFork}, {@link FkRegex},
+ * {@link FkMethods} and {@link FkTypes}.
+ *
+ * <p>Every route is a {@link FkRegex} with a named part of the path,
+ * and a {@link TkFork} inside, which forks by method and then by
+ * the "Accept" header, as a typical REST application does. The request
+ * goes to the first, middle or last route, or to none of them, and then
+ * the last fork returns "404 Not Found".</p>
+ *
+ * <p>With "compiled" forks, {@link TkFork} finds routes with a radix
+ * tree, see {@link FkChain}. With "sequential" forks, every
+ * {@link FkRegex} is wrapped into {@link FkWrap}, which hides it from
+ * {@link FkChain}, and forks are asked one by one, as before.</p>
+ *
+ * <p>Every request gets a unique header, so views of its head are never
+ * found in caches of previous requests. Compare with
+ * {@link #request()}, which only makes the request. Run it with
+ * "-prof gc" to see allocation per request.</p>
+ *
+ * @since 2.0
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Thread)
+@SuppressWarnings("PMD.AvoidFieldNameMatchingMethodName")
+public class ForkBench {
+
+    /**
+     * Number of routes.
+     */
+    @Param({"10", "100", "1000", "10000"})
+    public int routes;
+
+    /**
+     * Which route the request goes to.
+     */
+    @Param({"first", "middle", "last", "missing"})
+    public String target;
+
+    /**
+     * How routes are asked.
+     */
+    @Param({"compiled", "sequential"})
+    public String forks;
+
+    /**
+     * The take.
+     */
+    private Take take;
+
+    /**
+     * Path of the request.
+     */
+    private String path;
+
+    /**
+     * Number of requests made.
+     */
+    private long count;
+
+    /**
+     * Build the routes.
+     */
+    @Setup
+    public void setup() {
+        final List<Fork> all = new ArrayList<>(this.routes + 1);
+        for (int idx = 0; idx < this.routes; ++idx) {
+            all.add(this.route(idx));
+        }
+        all.add(
+            new FkFixed(
+                new TkFixed(
+                    new RsWithStatus(HttpURLConnection.HTTP_NOT_FOUND)
+                )
+            )
+        );
+        this.take = new TkFork(all);
+        final int idx;
+        if ("first".equals(this.target)) {
+            idx = 0;
+        } else if ("middle".equals(this.target)) {
+            idx = this.routes / 2;
+        } else if ("last".equals(this.target)) {
+            idx = this.routes - 1;
+        } else {
+            idx = -1;
+        }
+        if (idx < 0) {
+            this.path = "/api/missing/42";
+        } else {
+            this.path = String.format("/api/items%d/42", idx);
+        }
+    }
+
+    /**
+     * Route the request.
+     * @return Response
+     * @throws Exception If fails
+     */
+    @Benchmark
+    public Response dispatch() throws Exception {
+        return this.take.act(this.request());
+    }
+
+    /**
+     * Make the request, without routing it.
+     * @return Request
+     */
+    @Benchmark
+    public Request request() {
+        ++this.count;
+        return new RqFake(
+            Arrays.asList(
+                String.format("GET %s HTTP/1.1", this.path),
+                "Host: www.example.com",
+                "Accept: application/json",
+                String.format("X-Request-Id: %d", this.count)
+            ),
+            ""
+        );
+    }
+
+    /**
+     * Make one route.
+     * @param idx Number of the route
+     * @return Fork
+     */
+    private Fork route(final int idx) {
+        final Fork fork = new FkRegex(
+            String.format("/api/items%d/{id}", idx),
+            new TkFork(
+                new FkMethods(
+                    "GET",
+                    new TkFork(
+                        new FkTypes("text/html", new RsText("html")),
+                        new FkTypes("application/json", new RsText("{}"))
+                    )
+                ),
+                new FkMethods(
+                    "POST",
+                    new RsWithStatus(HttpURLConnection.HTTP_CREATED)
+                )
+            )
+        );
+        final Fork result;
+        if ("sequential".equals(this.forks)) {
+            result = new FkWrap(fork);
+        } else {
+            result = fork;
+        }
+        return result;
+    }
+}
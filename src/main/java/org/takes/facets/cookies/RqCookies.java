@@ -16,6 +16,7 @@ import org.cactoos.text.Trimmed;
 import org.cactoos.text.UncheckedText;
 import org.takes.Request;
 import org.takes.misc.VerboseIterable;
+import org.takes.rq.HeadMemo;
 import org.takes.rq.RqHeaders;
 import org.takes.rq.RqWrap;
 
@@ -49,6 +50,12 @@ public interface RqCookies extends Request {
      */
     @EqualsAndHashCode(callSuper = true)
     final class Base extends RqWrap implements RqCookies {
+        /**
+         * Cookies of heads, parsed once per head.
+         */
+        private static final HeadMemo<Map<String, String>> COOKIES =
+            new HeadMemo<>(RqCookies.Base::parse);
+
         /**
          * Ctor.
          * @param req Original request
@@ -94,14 +101,25 @@ public interface RqCookies extends Request {
         }
 
         /**
-         * Parse them all in a map.
+         * Get them all in a map.
          * @return Map of them
          * @throws IOException If fails
          */
         private Map<String, String> map() throws IOException {
+            return RqCookies.Base.COOKIES.get(this);
+        }
+
+        /**
+         * Parse them all in a map.
+         * @param req The request
+         * @return Map of them
+         * @throws IOException If fails
+         */
+        private static Map<String, String> parse(final Request req)
+            throws IOException {
             final Map<String, String> map = new HashMap<>(0);
             final Iterable<String> values =
-                new RqHeaders.Base(this).header("Cookie");
+                new RqHeaders.Base(req).header("Cookie");
             for (final String value : values) {
                 for (final String pair : value.split(";")) {
                     final String[] parts = pair.split("=", 2);
@@ -121,7 +139,7 @@ public interface RqCookies extends Request {
                     }
                 }
             }
-            return map;
+            return Collections.unmodifiableMap(map);
         }
     }
 }
@@ -0,0 +1,72 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.facets.fork;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Bounded cache, which forgets all entries when it is full.
+ *
+ * <p>Reads don't lock anything, so the cache doesn't slow down
+ * concurrent requests. Values are made outside of any lock, so two
+ * threads may make the same value at the same time; the cache must only
+ * be used for values, which are cheap to make twice and equal to each
+ * other.</p>
+ *
+ * <p>The class is thread-safe.
+ *
+ * @param <K> Type of keys
+ * @param <V> Type of values
+ * @since 2.0
+ */
+final class BoundedCache<K, V> {
+
+    /**
+     * Entries.
+     */
+    private final Map<K, V> map;
+
+    /**
+     * Maximum number of entries.
+     */
+    private final int max;
+
+    /**
+     * Ctor.
+     * @param size Maximum number of entries
+     */
+    BoundedCache(final int size) {
+        this.map = new ConcurrentHashMap<>(size);
+        this.max = size;
+    }
+
+    /**
+     * Get the value by the key, making it if it's not there.
+     * @param key Key
+     * @param func Function that makes the value of the key
+     * @return Value
+     */
+    V get(final K key, final Function<K, V> func) {
+        V value = this.map.get(key);
+        if (value == null) {
+            value = func.apply(key);
+            if (this.map.size() >= this.max) {
+                this.map.clear();
+            }
+            this.map.put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Number of entries.
+     * @return Size
+     */
+    int size() {
+        return this.map.size();
+    }
+}
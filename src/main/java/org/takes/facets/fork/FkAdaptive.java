@@ -0,0 +1,186 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.facets.fork;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.takes.Request;
+import org.takes.Response;
+import org.takes.misc.Opt;
+
+/**
+ * Fork that asks its forks in the order of their popularity.
+ *
+ * <p>It counts hits of every fork and, from time to time, reorders them
+ * so that the forks with more hits are asked first. Use it for forks,
+ * which never match the same request, that is, any order of which gives
+ * the same result, for example:
+ *
+ * <pre> new TkFork(
+ *   new FkAdaptive(
+ *     new FkRegex("/", new TkIndex()),
+ *     new FkRegex("/api/.+", new TkApi()),
+ *     new FkRegex("/static/.+", new TkStatic())
+ *   ),
+ *   new FkFixed(new TkNotFound())
+ * );</pre>
+ *
+ * <p>Hits are counted with {@link LongAdder}s, which don't compete for
+ * the same memory when many threads count at the same time. The order
+ * is replaced, as an immutable array, about once per the given number
+ * of requests, chosen at random by every thread on its own, so nothing
+ * is locked while routing. Forks with the same number of hits keep
+ * their declaration order.</p>
+ *
+ * <p>The class is thread-safe.
+ *
+ * @since 2.0
+ */
+@ToString(of = "forks")
+@EqualsAndHashCode(of = "forks")
+public final class FkAdaptive implements Fork {
+
+    /**
+     * Default number of requests between reorders.
+     */
+    private static final int PERIOD = 1024;
+
+    /**
+     * Forks, in declaration order.
+     */
+    private final List<Fork> forks;
+
+    /**
+     * Hits of forks, in declaration order.
+     */
+    private final LongAdder[] hits;
+
+    /**
+     * Indexes of forks, in the order to ask them.
+     */
+    private final AtomicReference<int[]> order;
+
+    /**
+     * Number of requests between reorders, on average.
+     */
+    private final int period;
+
+    /**
+     * Ctor.
+     * @param forks Forks
+     */
+    public FkAdaptive(final Fork... forks) {
+        this(Arrays.asList(forks));
+    }
+
+    /**
+     * Ctor.
+     * @param forks Forks
+     */
+    public FkAdaptive(final Collection<Fork> forks) {
+        this(FkAdaptive.PERIOD, forks);
+    }
+
+    /**
+     * Ctor.
+     * @param every Number of requests between reorders, on average
+     * @param forks Forks
+     */
+    public FkAdaptive(final int every, final Fork... forks) {
+        this(every, Arrays.asList(forks));
+    }
+
+    /**
+     * Ctor.
+     * @param every Number of requests between reorders, on average
+     * @param forks Forks
+     */
+    public FkAdaptive(final int every, final Collection<Fork> forks) {
+        if (every < 1) {
+            throw new IllegalArgumentException(
+                String.format("Period must be positive: %d", every)
+            );
+        }
+        this.forks = Collections.unmodifiableList(new ArrayList<>(forks));
+        this.hits = new LongAdder[this.forks.size()];
+        final int[] initial = new int[this.forks.size()];
+        for (int idx = 0; idx < initial.length; ++idx) {
+            this.hits[idx] = new LongAdder();
+            initial[idx] = idx;
+        }
+        this.order = new AtomicReference<>(initial);
+        this.period = every;
+    }
+
+    @Override
+    public Opt<Response> route(final Request request) throws Exception {
+        Opt<Response> response = new Opt.Empty<>();
+        for (final int idx : this.order.get()) {
+            final Opt<Response> current = this.forks.get(idx).route(request);
+            if (current.has()) {
+                this.hits[idx].increment();
+                response = current;
+                break;
+            }
+        }
+        if (ThreadLocalRandom.current().nextInt(this.period) == 0) {
+            this.reorder();
+        }
+        return response;
+    }
+
+    /**
+     * Hits of forks, in declaration order.
+     * @return Numbers of requests routed by every fork
+     */
+    public List<Long> stats() {
+        final List<Long> stats = new ArrayList<>(this.hits.length);
+        for (final LongAdder adder : this.hits) {
+            stats.add(adder.sum());
+        }
+        return Collections.unmodifiableList(stats);
+    }
+
+    /**
+     * Forks, in the order they are asked now.
+     * @return Forks
+     */
+    public List<Fork> order() {
+        final int[] current = this.order.get();
+        final List<Fork> list = new ArrayList<>(current.length);
+        for (final int idx : current) {
+            list.add(this.forks.get(idx));
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Put the forks with more hits first.
+     */
+    private void reorder() {
+        final List<Long> stats = this.stats();
+        final List<Integer> sorted = new ArrayList<>(stats.size());
+        for (int idx = 0; idx < stats.size(); ++idx) {
+            sorted.add(idx);
+        }
+        sorted.sort(
+            Comparator.comparing(stats::get, Comparator.reverseOrder())
+        );
+        final int[] next = new int[sorted.size()];
+        for (int idx = 0; idx < next.length; ++idx) {
+            next[idx] = sorted.get(idx);
+        }
+        this.order.set(next);
+    }
+}
@@ -5,7 +5,7 @@
 package org.takes.facets.fork;
 
 import java.io.IOException;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -20,11 +20,16 @@ import org.takes.rq.RqHeaders;
 /**
  * Fork by user agent criteria accepted by "User-Agent" HTTP header.
  *
- * <p>The class is immutable and thread-safe.
+ * <p>Tokens are cached by values of the header, in a cache shared by
+ * all forks, and verdicts of the matcher are cached by tokens, since
+ * there are usually just a few distinct user agents. The matcher must
+ * give the same verdict for the same token every time.</p>
+ *
+ * <p>The class is thread-safe.
  *
  * @since 1.7.2
  */
-@EqualsAndHashCode
+@EqualsAndHashCode(of = {"take", "match"})
 public final class FkAgent implements Fork {
 
     /**
@@ -33,6 +38,12 @@ public final class FkAgent implements Fork {
     private static final Pattern PATTERN =
         Pattern.compile("(\\w+)\\/([\\d\\.]+)");
 
+    /**
+     * Tokens of values of the header, shared by all forks.
+     */
+    private static final BoundedCache<String, Opt<String>> TOKENS =
+        new BoundedCache<>(256);
+
     /**
      * Take to handle the request and dynamically return the response.
      */
@@ -43,6 +54,11 @@ public final class FkAgent implements Fork {
      */
     private final AgentMatch match;
 
+    /**
+     * Verdicts of the matcher, by tokens.
+     */
+    private final BoundedCache<String, Boolean> verdicts;
+
     /**
      * Ctor.
      * @param take Take to handle the request dynamically.
@@ -51,15 +67,15 @@ public final class FkAgent implements Fork {
     public FkAgent(final Take take, final AgentMatch match) {
         this.take = take;
         this.match = match;
+        this.verdicts = new BoundedCache<>(64);
     }
 
     @Override
-    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
     public Opt<Response> route(final Request req) throws Exception {
         final List<String> tokens = FkAgent.tokens(req);
         Opt<Response> resp = new Opt.Empty<>();
         for (final String token : tokens) {
-            if (this.match.matches(token)) {
+            if (this.verdicts.get(token, this.match::matches)) {
                 resp = new Opt.Single<>(this.take.act(req));
                 break;
             }
@@ -74,15 +90,33 @@ public final class FkAgent implements Fork {
      * @throws IOException If some problems inside.
      */
     private static List<String> tokens(final Request req) throws IOException {
-        final List<String> tokens = new LinkedList<>();
+        final List<String> tokens = new ArrayList<>(1);
         final Iterable<String> headers =
             new RqHeaders.Base(req).header("User-Agent");
         for (final String header : headers) {
-            final Matcher matcher = PATTERN.matcher(header);
-            if (matcher.matches()) {
-                tokens.add(matcher.group());
+            final Opt<String> token = FkAgent.TOKENS.get(
+                header, FkAgent::token
+            );
+            if (token.has()) {
+                tokens.add(token.get());
             }
         }
         return tokens;
     }
+
+    /**
+     * Extract token from a value of the header.
+     * @param header Value of the header
+     * @return Token, if the value has it
+     */
+    private static Opt<String> token(final String header) {
+        final Matcher matcher = FkAgent.PATTERN.matcher(header);
+        final Opt<String> token;
+        if (matcher.matches()) {
+            token = new Opt.Single<>(matcher.group());
+        } else {
+            token = new Opt.Empty<>();
+        }
+        return token;
+    }
 }
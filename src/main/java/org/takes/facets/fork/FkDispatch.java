@@ -0,0 +1,159 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.facets.fork;
+
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.takes.Request;
+import org.takes.Response;
+import org.takes.misc.Opt;
+import org.takes.rq.RqMethod;
+import org.takes.rs.RsWithHeader;
+import org.takes.rs.RsWithStatus;
+
+/**
+ * Fork that finds an endpoint by method and path in one table.
+ *
+ * <p>It replaces the usual tree of {@link FkRegex}, {@link TkFork},
+ * {@link FkMethods} and {@link TkMethods}:
+ *
+ * <pre> Take take = new TkFork(
+ *   new FkDispatch(
+ *     new FkEndpoint("GET", "/user/{name}", new TkUser()),
+ *     new FkEndpoint("PUT,DELETE", "/user/{name}", new TkSave()),
+ *     new FkEndpoint("GET", "/users", new TkUsers())
+ *   )
+ * );</pre>
+ *
+ * <p>Endpoints with the same pattern are grouped into one route, with
+ * a map of takes by method; the routes are found with a radix tree, as
+ * in {@link TkRouter}. The first route, which matches the path, gets
+ * the request, just like the first {@link FkRegex} does in
+ * {@link TkFork}. If it has no take for the method, the fork returns
+ * "405 Method Not Allowed" with the "Allow" header, which lists all
+ * methods of the route, without throwing exceptions. If no route
+ * matches the path, the fork doesn't match the request.</p>
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @see FkEndpoint
+ * @since 2.0
+ */
+@ToString(of = "routes")
+@EqualsAndHashCode(of = "routes")
+public final class FkDispatch implements Fork {
+
+    /**
+     * Routes.
+     */
+    private final Fork routes;
+
+    /**
+     * Ctor.
+     * @param endpoints Endpoints
+     */
+    public FkDispatch(final FkEndpoint... endpoints) {
+        this(Arrays.asList(endpoints));
+    }
+
+    /**
+     * Ctor.
+     * @param endpoints Endpoints
+     */
+    public FkDispatch(final Collection<FkEndpoint> endpoints) {
+        this.routes = new FkRoutes(FkDispatch.table(endpoints));
+    }
+
+    @Override
+    public Opt<Response> route(final Request req) throws Exception {
+        return this.routes.route(req);
+    }
+
+    /**
+     * Group endpoints by their patterns.
+     * @param endpoints Endpoints
+     * @return Forks, one per pattern
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    private static Collection<FkRegex> table(
+        final Collection<FkEndpoint> endpoints) {
+        final Map<String, Map<String, TkRegex>> table = new LinkedHashMap<>(
+            endpoints.size()
+        );
+        for (final FkEndpoint endpoint : endpoints) {
+            final Map<String, TkRegex> takes = table.computeIfAbsent(
+                endpoint.pattern(), ptn -> new LinkedHashMap<>(4)
+            );
+            for (final String method : endpoint.methods()) {
+                takes.putIfAbsent(method, endpoint.target());
+            }
+        }
+        final List<FkRegex> forks = new ArrayList<>(table.size());
+        for (final Map.Entry<String, Map<String, TkRegex>> ent
+            : table.entrySet()) {
+            forks.add(
+                new FkRegex(
+                    ent.getKey(), new FkDispatch.Methods(ent.getValue())
+                )
+            );
+        }
+        return forks;
+    }
+
+    /**
+     * Takes of one route, by methods.
+     *
+     * @since 2.0
+     */
+    @ToString(of = "allow")
+    @EqualsAndHashCode
+    private static final class Methods implements TkRegex {
+
+        /**
+         * Takes by methods.
+         */
+        private final Map<String, TkRegex> takes;
+
+        /**
+         * Value of the "Allow" header.
+         */
+        private final String allow;
+
+        /**
+         * Ctor.
+         * @param map Takes by methods, in declaration order
+         */
+        Methods(final Map<String, TkRegex> map) {
+            this.takes = new HashMap<>(map);
+            this.allow = String.join(", ", map.keySet());
+        }
+
+        @Override
+        public Response act(final RqRegex req) throws Exception {
+            final TkRegex take = this.takes.get(
+                new RqMethod.Base(req).method()
+            );
+            final Response response;
+            if (take == null) {
+                response = new RsWithHeader(
+                    new RsWithStatus(HttpURLConnection.HTTP_BAD_METHOD),
+                    "Allow",
+                    this.allow
+                );
+            } else {
+                response = take.act(req);
+            }
+            return response;
+        }
+    }
+}
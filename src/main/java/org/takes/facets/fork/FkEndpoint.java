@@ -0,0 +1,142 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.facets.fork;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.TreeSet;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.takes.Request;
+import org.takes.Response;
+import org.takes.Take;
+import org.takes.misc.Opt;
+import org.takes.rq.RqMethod;
+
+/**
+ * Fork by method and path, in one step.
+ *
+ * <p>It is the same as {@link FkRegex} with a {@link TkFork} of
+ * {@link FkMethods} inside, but it is meant to be used in
+ * {@link FkDispatch}, which finds the endpoint by method and path
+ * without nested forks:
+ *
+ * <pre> Take take = new TkFork(
+ *   new FkDispatch(
+ *     new FkEndpoint("GET", "/user/{name}", new TkUser()),
+ *     new FkEndpoint("PUT,DELETE", "/user/{name}", new TkSave())
+ *   )
+ * );</pre>
+ *
+ * <p>Alone, it matches a request only if both the method and the path
+ * match; the path is matched as in {@link FkRegex}.</p>
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @see FkDispatch
+ * @since 2.0
+ */
+@ToString(of = {"methods", "pattern"})
+@EqualsAndHashCode(of = {"methods", "pattern", "target"})
+public final class FkEndpoint implements Fork {
+
+    /**
+     * Methods to match, sorted and without duplicates, so that endpoints
+     * with the same methods are equal.
+     */
+    private final Collection<String> methods;
+
+    /**
+     * Pattern of the path.
+     */
+    private final String pattern;
+
+    /**
+     * Target.
+     */
+    private final TkRegex target;
+
+    /**
+     * Fork of the path.
+     */
+    private final FkRegex fork;
+
+    /**
+     * Ctor.
+     * @param mtd Methods, separated by commas
+     * @param ptn Pattern of the path
+     * @param that Take
+     */
+    public FkEndpoint(final String mtd, final String ptn, final Take that) {
+        this(mtd, ptn, (TkRegex) that::act);
+    }
+
+    /**
+     * Ctor.
+     * @param mtd Methods, separated by commas
+     * @param ptn Pattern of the path
+     * @param that Take
+     */
+    public FkEndpoint(final String mtd, final String ptn,
+        final TkRegex that) {
+        this(Arrays.asList(mtd.split(",")), ptn, that);
+    }
+
+    /**
+     * Ctor.
+     * @param mtds Methods
+     * @param ptn Pattern of the path
+     * @param that Take
+     */
+    public FkEndpoint(final Collection<String> mtds, final String ptn,
+        final TkRegex that) {
+        final Collection<String> upper = new TreeSet<>();
+        for (final String mtd : mtds) {
+            upper.add(mtd.trim().toUpperCase(Locale.ENGLISH));
+        }
+        this.methods = Collections.unmodifiableList(new ArrayList<>(upper));
+        this.pattern = ptn;
+        this.target = that;
+        this.fork = new FkRegex(ptn, that);
+    }
+
+    @Override
+    public Opt<Response> route(final Request req) throws Exception {
+        final Opt<Response> resp;
+        if (this.methods.contains(new RqMethod.Base(req).method())) {
+            resp = this.fork.route(req);
+        } else {
+            resp = new Opt.Empty<>();
+        }
+        return resp;
+    }
+
+    /**
+     * Methods to match.
+     * @return Methods
+     */
+    Collection<String> methods() {
+        return this.methods;
+    }
+
+    /**
+     * Pattern of the path.
+     * @return Pattern
+     */
+    String pattern() {
+        return this.pattern;
+    }
+
+    /**
+     * Target.
+     * @return Take
+     */
+    TkRegex target() {
+        return this.target;
+    }
+}
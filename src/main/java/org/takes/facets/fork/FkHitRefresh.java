@@ -176,12 +176,21 @@ public final class FkHitRefresh implements Fork {
          */
         public File touchedFile() throws IOException {
             if (this.flag.isEmpty()) {
+                boolean created = false;
                 this.lock.writeLock().lock();
-                final File file = File.createTempFile("take", ".txt");
-                file.deleteOnExit();
-                this.flag.add(file);
-                this.lock.writeLock().unlock();
-                this.touch();
+                try {
+                    if (this.flag.isEmpty()) {
+                        final File file = File.createTempFile("take", ".txt");
+                        file.deleteOnExit();
+                        this.flag.add(file);
+                        created = true;
+                    }
+                } finally {
+                    this.lock.writeLock().unlock();
+                }
+                if (created) {
+                    this.touch();
+                }
             }
             return this.flag.get(0);
         }
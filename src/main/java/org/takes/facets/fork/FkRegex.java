@@ -55,15 +55,37 @@ import org.takes.tk.TkText;
  *   )
  * );</pre>
  *
+ * <p>Parts of the path may be named in curly brackets, instead of
+ * regular expression groups; each of them matches one or more chars
+ * except slash and is available through the matcher as a named group:
+ *
+ * <pre> new FkRegex(
+ *   "/user/{name}/posts",
+ *   (TkRegex) req -&gt; new RsText(req.matcher().group("name"))
+ * )</pre>
+ *
+ * <p>With many of these forks, {@link TkRouter} finds the right one
+ * much faster than {@link TkFork}.
+ *
  * <p>The class is immutable and thread-safe.
  *
  * @see TkFork
+ * @see TkRouter
  * @see TkRegex
  * @since 0.4
  */
 @EqualsAndHashCode
 public final class FkRegex implements Fork {
 
+    /**
+     * Names of parts in curly brackets, or escaped chars, which must be
+     * kept as they are, including Unicode classes and hex codes with
+     * their curly brackets, such as "\p{Alnum}" or "\x{FF}".
+     */
+    private static final Pattern NAMES = Pattern.compile(
+        "\\\\(?:[pPxN]\\{[^}]*}|.)|\\{([a-zA-Z][a-zA-Z0-9]*)}"
+    );
+
     /**
      * Pattern.
      */
@@ -86,7 +108,7 @@ public final class FkRegex implements Fork {
      */
     public FkRegex(final String ptn, final String text) {
         this(
-            Pattern.compile(ptn, Pattern.CASE_INSENSITIVE | Pattern.DOTALL),
+            FkRegex.compile(ptn),
             new TkText(text)
         );
     }
@@ -118,7 +140,7 @@ public final class FkRegex implements Fork {
      */
     public FkRegex(final String ptn, final Take that) {
         this(
-            Pattern.compile(ptn, Pattern.CASE_INSENSITIVE | Pattern.DOTALL),
+            FkRegex.compile(ptn),
             that
         );
     }
@@ -142,7 +164,7 @@ public final class FkRegex implements Fork {
      */
     public FkRegex(final String ptn, final TkRegex that) {
         this(
-            Pattern.compile(ptn, Pattern.CASE_INSENSITIVE | Pattern.DOTALL),
+            FkRegex.compile(ptn),
             that
         );
     }
@@ -183,21 +205,13 @@ public final class FkRegex implements Fork {
 
     @Override
     public Opt<Response> route(final Request req) throws Exception {
-        String path = new RqHref.Base(req).href().path();
-        if (
-            this.removeslash
-                && path.length() > 1
-                && path.charAt(path.length() - 1) == '/'
-        ) {
-            path = path.substring(0, path.length() - 1);
-        }
-        final Matcher matcher = this.pattern.matcher(path);
+        final Matcher matcher = this.pattern.matcher(
+            this.path(new RqHref.Base(req).href().path())
+        );
         final Opt<Response> resp;
         if (matcher.matches()) {
             resp = new Opt.Single<>(
-                this.target.value().act(
-                    new RqMatcher(matcher, req)
-                )
+                this.act(new RqMatcher(matcher, req))
             );
         } else {
             resp = new Opt.Empty<>();
@@ -205,6 +219,68 @@ public final class FkRegex implements Fork {
         return resp;
     }
 
+    /**
+     * Pattern.
+     * @return Pattern
+     */
+    Pattern pattern() {
+        return this.pattern;
+    }
+
+    /**
+     * Path to match, without the trailing slash, if necessary.
+     * @param path Path of the request
+     * @return Path to match
+     */
+    String path(final String path) {
+        final String result;
+        if (
+            this.removeslash
+                && path.length() > 1
+                && path.charAt(path.length() - 1) == '/'
+        ) {
+            result = path.substring(0, path.length() - 1);
+        } else {
+            result = path;
+        }
+        return result;
+    }
+
+    /**
+     * Let the target act on the matched request.
+     * @param req Request with a matcher
+     * @return Response
+     * @throws Exception If fails
+     */
+    Response act(final RqRegex req) throws Exception {
+        return this.target.value().act(req);
+    }
+
+    /**
+     * Compile the pattern, replacing names in curly brackets with
+     * named groups.
+     * @param ptn Pattern
+     * @return Compiled pattern
+     */
+    private static Pattern compile(final String ptn) {
+        final Matcher matcher = FkRegex.NAMES.matcher(ptn);
+        final StringBuffer regex = new StringBuffer(ptn.length());
+        while (matcher.find()) {
+            final String replacement;
+            if (matcher.group(1) == null) {
+                replacement = Matcher.quoteReplacement(matcher.group());
+            } else {
+                replacement = "(?<$1>[^/]+)";
+            }
+            matcher.appendReplacement(regex, replacement);
+        }
+        matcher.appendTail(regex);
+        return Pattern.compile(
+            regex.toString(),
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL
+        );
+    }
+
     /**
      * Request with a matcher inside.
      *
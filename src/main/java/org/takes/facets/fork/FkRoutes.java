@@ -0,0 +1,329 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.facets.fork;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.cactoos.scalar.Sticky;
+import org.cactoos.scalar.Unchecked;
+import org.takes.Request;
+import org.takes.Response;
+import org.takes.misc.Opt;
+import org.takes.rq.RqHref;
+
+/**
+ * Fork of many {@link FkRegex} forks, which finds the first matching one
+ * with a radix tree, see {@link TkRouter}.
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.0
+ */
+@ToString(of = "routes")
+@EqualsAndHashCode(of = "routes")
+final class FkRoutes implements Fork {
+
+    /**
+     * Flags of patterns, which may be matched without regular
+     * expressions, see {@link FkRegex}.
+     */
+    private static final int FLAGS = Pattern.CASE_INSENSITIVE
+        | Pattern.DOTALL;
+
+    /**
+     * Named group, which matches one part of the path.
+     */
+    private static final Pattern NAMED = Pattern.compile(
+        "\\(\\?<[a-zA-Z][a-zA-Z0-9]*>\\[\\^/]\\+\\)"
+    );
+
+    /**
+     * Chars with special meaning in regular expressions.
+     */
+    private static final String SPECIAL = "\\^$.|?*+()[]{}";
+
+    /**
+     * Routes, in the order of their forks.
+     */
+    private final List<FkRoutes.Route> routes;
+
+    /**
+     * Indexes of routes, by literal prefixes of their patterns.
+     */
+    private final RouteTree<Integer> tree;
+
+    /**
+     * Ctor.
+     * @param forks Forks
+     */
+    FkRoutes(final Collection<FkRegex> forks) {
+        this.routes = new ArrayList<>(forks.size());
+        this.tree = new RouteTree<>();
+        for (final FkRegex fork : forks) {
+            final FkRoutes.Route route = new FkRoutes.Route(fork);
+            this.tree.add(route.prefix(), this.routes.size());
+            this.routes.add(route);
+        }
+    }
+
+    @Override
+    public Opt<Response> route(final Request req) throws Exception {
+        final String path = new RqHref.Base(req).href().path();
+        final List<Integer> found = new ArrayList<>(4);
+        this.tree.find(path, found);
+        Collections.sort(found);
+        Opt<Response> response = new Opt.Empty<>();
+        for (final int idx : found) {
+            response = this.routes.get(idx).act(req, path);
+            if (response.has()) {
+                break;
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Route of one fork.
+     *
+     * <p>The pattern is split into tokens: literal parts in lower case
+     * and {@link #PART} for every named part of the path; the list is
+     * empty if the pattern needs the regular expression to be matched.
+     *
+     * @since 2.0
+     */
+    @ToString(of = "fork")
+    @EqualsAndHashCode
+    private static final class Route {
+
+        /**
+         * Token of a named part of the path.
+         */
+        private static final String PART = "{}";
+
+        /**
+         * The fork.
+         */
+        private final FkRegex fork;
+
+        /**
+         * Tokens of the pattern.
+         */
+        private final List<String> tokens;
+
+        /**
+         * Ctor.
+         * @param frk The fork
+         */
+        Route(final FkRegex frk) {
+            this.fork = frk;
+            this.tokens = FkRoutes.Route.tokens(frk.pattern());
+        }
+
+        /**
+         * Literal prefix of the pattern.
+         * @return Prefix, maybe empty
+         */
+        String prefix() {
+            final String prefix;
+            if (this.tokens.isEmpty()) {
+                prefix = FkRoutes.Route.literal(this.fork.pattern());
+            } else if (FkRoutes.Route.PART.equals(this.tokens.get(0))) {
+                prefix = "";
+            } else {
+                prefix = this.tokens.get(0);
+            }
+            return prefix;
+        }
+
+        /**
+         * Act, if the path matches.
+         * @param req Request
+         * @param uri Path of the request
+         * @return Response, if the path matches
+         * @throws Exception If fails
+         */
+        Opt<Response> act(final Request req, final String uri)
+            throws Exception {
+            final String path = this.fork.path(uri);
+            final Pattern pattern = this.fork.pattern();
+            Opt<Response> response = new Opt.Empty<>();
+            if (this.tokens.isEmpty()) {
+                final Matcher matcher = pattern.matcher(path);
+                if (matcher.matches()) {
+                    response = new Opt.Single<>(
+                        this.fork.act(
+                            new FkRoutes.RqMatched(
+                                req,
+                                new Unchecked<>(() -> matcher)
+                            )
+                        )
+                    );
+                }
+            } else if (this.matches(path)) {
+                response = new Opt.Single<>(
+                    this.fork.act(
+                        new FkRoutes.RqMatched(
+                            req,
+                            new Unchecked<>(
+                                new Sticky<>(
+                                    () -> {
+                                        final Matcher matcher =
+                                            pattern.matcher(path);
+                                        matcher.matches();
+                                        return matcher;
+                                    }
+                                )
+                            )
+                        )
+                    )
+                );
+            }
+            return response;
+        }
+
+        /**
+         * Does the path match the tokens?
+         * @param path Path
+         * @return TRUE if so
+         */
+        private boolean matches(final String path) {
+            int pos = 0;
+            boolean matches = true;
+            for (final String token : this.tokens) {
+                if (FkRoutes.Route.PART.equals(token)) {
+                    int end = path.indexOf('/', pos);
+                    if (end < 0) {
+                        end = path.length();
+                    }
+                    matches = end > pos;
+                    pos = end;
+                } else {
+                    matches = RouteTree.starts(path, pos, token);
+                    pos += token.length();
+                }
+                if (!matches) {
+                    break;
+                }
+            }
+            return matches && pos == path.length();
+        }
+
+        /**
+         * Split the pattern into tokens, if it has no regular
+         * expressions, except named parts of the path.
+         * @param pattern Pattern
+         * @return Tokens, empty if the pattern needs a regular expression
+         */
+        private static List<String> tokens(final Pattern pattern) {
+            final String ptn = pattern.pattern();
+            final List<String> tokens = new ArrayList<>(4);
+            final StringBuilder literal = new StringBuilder(ptn.length());
+            boolean plain = pattern.flags() == FkRoutes.FLAGS;
+            int pos = 0;
+            final Matcher named = FkRoutes.NAMED.matcher(ptn);
+            while (plain && pos < ptn.length()) {
+                final char chr = ptn.charAt(pos);
+                if (FkRoutes.SPECIAL.indexOf(chr) < 0) {
+                    literal.append(RouteTree.lower(chr));
+                    ++pos;
+                } else {
+                    named.region(pos, ptn.length());
+                    plain = named.lookingAt()
+                        && (named.end() == ptn.length()
+                        || ptn.charAt(named.end()) == '/');
+                    if (plain) {
+                        if (literal.length() > 0) {
+                            tokens.add(literal.toString());
+                            literal.setLength(0);
+                        }
+                        tokens.add(FkRoutes.Route.PART);
+                        pos = named.end();
+                    }
+                }
+            }
+            if (literal.length() > 0) {
+                tokens.add(literal.toString());
+            }
+            if (!plain) {
+                tokens.clear();
+            }
+            return tokens;
+        }
+
+        /**
+         * Literal prefix of a regular expression, which any matching
+         * path must start with.
+         * @param pattern Pattern
+         * @return Prefix, maybe empty
+         */
+        private static String literal(final Pattern pattern) {
+            final String ptn = pattern.pattern();
+            int end = 0;
+            if ((pattern.flags() & ~FkRoutes.FLAGS) == 0
+                && ptn.indexOf('|') < 0) {
+                while (end < ptn.length()
+                    && FkRoutes.SPECIAL.indexOf(ptn.charAt(end)) < 0) {
+                    ++end;
+                }
+                if (end > 0 && end < ptn.length()
+                    && "?*+{".indexOf(ptn.charAt(end)) >= 0) {
+                    --end;
+                }
+            }
+            return ptn.substring(0, end);
+        }
+    }
+
+    /**
+     * Request matched by a route.
+     *
+     * @since 2.0
+     */
+    private static final class RqMatched implements RqRegex {
+
+        /**
+         * Original request.
+         */
+        private final Request req;
+
+        /**
+         * Matcher, made on demand.
+         */
+        private final Unchecked<Matcher> mtr;
+
+        /**
+         * Ctor.
+         * @param request Request
+         * @param matcher Matcher
+         */
+        RqMatched(final Request request, final Unchecked<Matcher> matcher) {
+            this.req = request;
+            this.mtr = matcher;
+        }
+
+        @Override
+        public Iterable<String> head() throws IOException {
+            return this.req.head();
+        }
+
+        @Override
+        public InputStream body() throws IOException {
+            return this.req.body();
+        }
+
+        @Override
+        public Matcher matcher() {
+            return this.mtr.value();
+        }
+    }
+}
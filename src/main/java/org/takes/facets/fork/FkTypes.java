@@ -15,12 +15,15 @@ import org.takes.rq.RqHeaders;
 /**
  * Fork by types accepted by "Accept" HTTP header.
  *
- * <p>The class is immutable and thread-safe.
+ * <p>Verdicts are cached by values of the "Accept" header, since
+ * there are usually just a few distinct ones.</p>
+ *
+ * <p>The class is thread-safe.
  *
  * @see RsFork
  * @since 0.6
  */
-@EqualsAndHashCode
+@EqualsAndHashCode(of = {"types", "response", "take"})
 public final class FkTypes implements Fork {
 
     /**
@@ -38,6 +41,11 @@ public final class FkTypes implements Fork {
      */
     private final Opt<Take> take;
 
+    /**
+     * Verdicts, by values of the "Accept" header.
+     */
+    private final BoundedCache<String, Boolean> verdicts;
+
     /**
      * Ctor.
      * @param list List of types
@@ -67,12 +75,13 @@ public final class FkTypes implements Fork {
         this.types = new MediaTypes(list);
         this.response = resp;
         this.take = that;
+        this.verdicts = new BoundedCache<>(64);
     }
 
     @Override
     public Opt<Response> route(final Request req) throws Exception {
         final Opt<Response> resp;
-        if (FkTypes.accepted(req).contains(this.types)) {
+        if (this.accepts(req)) {
             if (this.response.has()) {
                 resp = new Opt.Single<>(this.response.get());
             } else {
@@ -85,23 +94,16 @@ public final class FkTypes implements Fork {
     }
 
     /**
-     * Get all types accepted by the client.
+     * Do types accepted by the client include any of ours?
      * @param req Request
-     * @return Media types
+     * @return TRUE if so
      * @throws IOException If fails
      */
-    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
-    private static MediaTypes accepted(final Request req) throws IOException {
-        MediaTypes list = new MediaTypes();
-        final Iterable<String> headers = new RqHeaders.Base(req)
-            .header("Accept");
-        for (final String hdr : headers) {
-            list = list.merge(new MediaTypes(hdr));
-        }
-        if (list.isEmpty()) {
-            list = new MediaTypes("text/html");
-        }
-        return list;
+    private boolean accepts(final Request req) throws IOException {
+        return this.verdicts.get(
+            String.join(",", new RqHeaders.Base(req).header("Accept")),
+            accept -> MediaTypes.of(accept, "text/html").contains(this.types)
+        );
     }
 
 }
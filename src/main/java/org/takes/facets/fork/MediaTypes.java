@@ -26,6 +26,12 @@ import org.cactoos.text.UncheckedText;
 @EqualsAndHashCode
 final class MediaTypes {
 
+    /**
+     * Parsed header values, shared by all forks.
+     */
+    private static final BoundedCache<String, MediaTypes> PARSED =
+        new BoundedCache<>(256);
+
     /**
      * Set of types.
      */
@@ -54,6 +60,24 @@ final class MediaTypes {
         this.list = Collections.unmodifiableSortedSet(types);
     }
 
+    /**
+     * Parse the value of a header, or take the default, if there are
+     * no types in it.
+     *
+     * <p>Results are cached by raw values, since there are usually just
+     * a few distinct ones.</p>
+     * @param text Value of the header, all values joined by commas
+     * @param def Default types
+     * @return Types
+     */
+    static MediaTypes of(final String text, final String def) {
+        MediaTypes types = MediaTypes.PARSED.get(text, MediaTypes::new);
+        if (types.isEmpty()) {
+            types = MediaTypes.PARSED.get(def, MediaTypes::new);
+        }
+        return types;
+    }
+
     /**
      * Contains any of these types?
      * @param types Types
@@ -0,0 +1,206 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.facets.fork;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Radix tree of keys, which finds all keys that are prefixes of
+ * a path, in one pass through the path.
+ *
+ * <p>Keys and paths are compared ignoring the case of US-ASCII letters,
+ * the same way {@link java.util.regex.Pattern#CASE_INSENSITIVE} does.</p>
+ *
+ * <p>The class is NOT thread-safe while it is being filled, but it is
+ * safe to search in it concurrently after that.
+ *
+ * @param <T> Type of values
+ * @since 2.0
+ */
+final class RouteTree<T> {
+
+    /**
+     * Root node, with an empty label.
+     */
+    private final RouteTree.Node<T> root;
+
+    /**
+     * Ctor.
+     */
+    RouteTree() {
+        this.root = new RouteTree.Node<>("");
+    }
+
+    /**
+     * Add a value by the key.
+     * @param key Key
+     * @param value Value
+     */
+    void add(final CharSequence key, final T value) {
+        final String lower = RouteTree.lower(key);
+        RouteTree.Node<T> node = this.root;
+        int pos = 0;
+        while (pos < lower.length()) {
+            final RouteTree.Node<T> child = node.children.get(
+                lower.charAt(pos)
+            );
+            if (child == null) {
+                final RouteTree.Node<T> leaf = new RouteTree.Node<>(
+                    lower.substring(pos)
+                );
+                node.children.put(lower.charAt(pos), leaf);
+                node = leaf;
+                break;
+            }
+            final int common = RouteTree.common(child.label, lower, pos);
+            if (common < child.label.length()) {
+                child.split(common);
+            }
+            node = child;
+            pos += common;
+        }
+        node.values.add(value);
+    }
+
+    /**
+     * Find values of all keys, which are prefixes of the path, in
+     * the order of the length of their keys.
+     * @param path Path
+     * @param found Where to put them
+     */
+    void find(final CharSequence path, final Collection<T> found) {
+        RouteTree.Node<T> node = this.root;
+        int pos = 0;
+        while (true) {
+            found.addAll(node.values);
+            if (pos == path.length()) {
+                break;
+            }
+            node = node.children.get(RouteTree.lower(path.charAt(pos)));
+            if (node == null
+                || !RouteTree.starts(path, pos, node.label)) {
+                break;
+            }
+            pos += node.label.length();
+        }
+    }
+
+    /**
+     * Lower case of a key.
+     * @param key Key
+     * @return Lower case
+     */
+    static String lower(final CharSequence key) {
+        final StringBuilder lower = new StringBuilder(key.length());
+        for (int idx = 0; idx < key.length(); ++idx) {
+            lower.append(RouteTree.lower(key.charAt(idx)));
+        }
+        return lower.toString();
+    }
+
+    /**
+     * Lower case of a US-ASCII letter.
+     * @param chr Char
+     * @return Lower case
+     */
+    static char lower(final char chr) {
+        final char lower;
+        if (chr >= 'A' && chr <= 'Z') {
+            lower = (char) (chr + ('a' - 'A'));
+        } else {
+            lower = chr;
+        }
+        return lower;
+    }
+
+    /**
+     * Does the path have this label at this position?
+     * @param path Path
+     * @param pos Position
+     * @param label Label, in lower case
+     * @return TRUE if so
+     */
+    static boolean starts(final CharSequence path, final int pos,
+        final String label) {
+        boolean starts = path.length() - pos >= label.length();
+        for (int idx = 0; starts && idx < label.length(); ++idx) {
+            starts = RouteTree.lower(path.charAt(pos + idx))
+                == label.charAt(idx);
+        }
+        return starts;
+    }
+
+    /**
+     * Length of the common prefix of the label and the key at
+     * this position.
+     * @param label Label
+     * @param key Key
+     * @param pos Position in the key
+     * @return Length
+     */
+    private static int common(final String label, final String key,
+        final int pos) {
+        final int max = Math.min(label.length(), key.length() - pos);
+        int len = 0;
+        while (len < max && label.charAt(len) == key.charAt(pos + len)) {
+            ++len;
+        }
+        return len;
+    }
+
+    /**
+     * Node of the tree.
+     * @param <T> Type of values
+     * @since 2.0
+     */
+    private static final class Node<T> {
+
+        /**
+         * Children, by the first char of their labels.
+         */
+        private final Map<Character, RouteTree.Node<T>> children;
+
+        /**
+         * Values of keys, which end here.
+         */
+        private final List<T> values;
+
+        /**
+         * Label of the edge to this node, in lower case.
+         */
+        private String label;
+
+        /**
+         * Ctor.
+         * @param text Label
+         */
+        Node(final String text) {
+            this.children = new HashMap<>(4);
+            this.values = new ArrayList<>(1);
+            this.label = text;
+        }
+
+        /**
+         * Split the label, moving the rest of it and everything
+         * that is below into a new child.
+         * @param len Length of the label to keep
+         */
+        void split(final int len) {
+            final RouteTree.Node<T> rest = new RouteTree.Node<>(
+                this.label.substring(len)
+            );
+            rest.children.putAll(this.children);
+            rest.values.addAll(this.values);
+            this.children.clear();
+            this.values.clear();
+            this.children.put(rest.label.charAt(0), rest);
+            this.label = this.label.substring(0, len);
+        }
+    }
+}
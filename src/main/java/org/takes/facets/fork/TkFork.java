@@ -33,7 +33,9 @@ import org.takes.misc.Opt;
  * <p>Here, {@link TkFork} will try to call these
  * "forks" one by one, asking whether they accept the request. The first
  * one that reacts will get control. Each "fork" is an implementation
- * of {@link org.takes.facets.fork.Fork}.
+ * of {@link org.takes.facets.fork.Fork}. Consecutive
+ * {@link org.takes.facets.fork.FkRegex} forks are not asked one by one,
+ * but found all together, see {@link FkChain}.
  *
  * <p>The class is immutable and thread-safe.
  *
@@ -43,7 +45,7 @@ import org.takes.misc.Opt;
  * @since 0.4
  */
 @ToString(of = "forks")
-@EqualsAndHashCode
+@EqualsAndHashCode(of = "forks")
 public final class TkFork implements Take {
 
     /**
@@ -51,6 +53,11 @@ public final class TkFork implements Take {
      */
     private final Collection<Fork> forks;
 
+    /**
+     * Chain of the forks, compiled once.
+     */
+    private final Fork chain;
+
     /**
      * Ctor.
      */
@@ -72,11 +79,12 @@ public final class TkFork implements Take {
      */
     public TkFork(final Collection<Fork> frks) {
         this.forks = new ListOf<>(frks);
+        this.chain = new FkChain(this.forks);
     }
 
     @Override
     public Response act(final Request request) throws Exception {
-        final Opt<Response> response = new FkChain(this.forks).route(request);
+        final Opt<Response> response = this.chain.route(request);
         if (response.has()) {
             return response.get();
         }
@@ -0,0 +1,151 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.facets.fork;
+
+import java.net.HttpURLConnection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.takes.HttpException;
+import org.takes.Request;
+import org.takes.Response;
+import org.takes.Take;
+import org.takes.rq.RqHeaders;
+import org.takes.tk.TkFailure;
+
+/**
+ * Take that dispatches requests by host names, with hash tables.
+ *
+ * <p>It is a faster replacement of {@link TkFork} with many
+ * {@link FkHost} forks, for example:
+ *
+ * <pre> Map&lt;String, Take&gt; hosts = new HashMap&lt;&gt;();
+ * hosts.put("www.example.com", new TkText("home"));
+ * hosts.put("*.example.com", new TkText("tenant"));
+ * Take take = new TkHosts(hosts, new TkText("unknown host"));</pre>
+ *
+ * <p>The "Host" header is read once and found in the table of exact
+ * host names, first as is and then without the port. If it is not
+ * there, its parent domains, from the longest to the shortest, are
+ * found in the table of wildcards, which are host names starting with
+ * "*.", such as "*.example.com", matching any subdomain of
+ * "example.com", but not "example.com" itself. Host names are compared
+ * ignoring case. If nothing is found, or there is no "Host" header,
+ * the request goes to the fallback take, which by default throws
+ * "404 Not Found".</p>
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @see FkHost
+ * @since 2.0
+ */
+@ToString(of = {"exact", "wildcards"})
+@EqualsAndHashCode
+public final class TkHosts implements Take {
+
+    /**
+     * Prefix of wildcard host names.
+     */
+    private static final String WILDCARD = "*.";
+
+    /**
+     * Takes by exact host names, in lower case.
+     */
+    private final Map<String, Take> exact;
+
+    /**
+     * Takes by parent domains, in lower case, with the leading dot.
+     */
+    private final Map<String, Take> wildcards;
+
+    /**
+     * Take for unknown hosts.
+     */
+    private final Take fallback;
+
+    /**
+     * Ctor.
+     * @param hosts Takes by host names
+     */
+    public TkHosts(final Map<String, Take> hosts) {
+        this(
+            hosts,
+            new TkFailure(
+                () -> new HttpException(HttpURLConnection.HTTP_NOT_FOUND)
+            )
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param hosts Takes by host names
+     * @param unknown Take for unknown hosts
+     */
+    public TkHosts(final Map<String, Take> hosts, final Take unknown) {
+        this.exact = new HashMap<>(hosts.size());
+        this.wildcards = new HashMap<>(hosts.size());
+        for (final Map.Entry<String, Take> ent : hosts.entrySet()) {
+            final String host = ent.getKey().trim().toLowerCase(Locale.ENGLISH);
+            if (host.startsWith(TkHosts.WILDCARD)) {
+                this.wildcards.put(host.substring(1), ent.getValue());
+            } else {
+                this.exact.put(host, ent.getValue());
+            }
+        }
+        this.fallback = unknown;
+    }
+
+    @Override
+    public Response act(final Request req) throws Exception {
+        final Iterator<String> hosts = new RqHeaders.Base(req)
+            .header("host").iterator();
+        Take take = this.fallback;
+        if (hosts.hasNext()) {
+            take = this.find(hosts.next().trim().toLowerCase(Locale.ENGLISH));
+        }
+        return take.act(req);
+    }
+
+    /**
+     * Find the take of the host.
+     * @param host Host name, maybe with the port, in lower case
+     * @return Take
+     */
+    private Take find(final String host) {
+        Take take = this.exact.get(host);
+        if (take == null) {
+            final String name = TkHosts.name(host);
+            take = this.exact.get(name);
+            int dot = name.indexOf('.');
+            while (take == null && dot >= 0) {
+                take = this.wildcards.get(name.substring(dot));
+                dot = name.indexOf('.', dot + 1);
+            }
+        }
+        if (take == null) {
+            take = this.fallback;
+        }
+        return take;
+    }
+
+    /**
+     * Host name without the port.
+     * @param host Host name, maybe with the port
+     * @return Host name
+     */
+    private static String name(final String host) {
+        final int colon = host.lastIndexOf(':');
+        final String name;
+        if (colon > host.lastIndexOf(']')) {
+            name = host.substring(0, colon);
+        } else {
+            name = host;
+        }
+        return name;
+    }
+}
@@ -4,12 +4,23 @@
  */
 package org.takes.http;
 
-import java.io.BufferedOutputStream;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import lombok.EqualsAndHashCode;
 import org.cactoos.bytes.BytesOf;
 import org.cactoos.io.InputStreamOf;
@@ -17,15 +28,39 @@ import org.takes.HttpException;
 import org.takes.Request;
 import org.takes.Response;
 import org.takes.Take;
+import org.takes.rq.RequestOf;
 import org.takes.rq.RqLive;
-import org.takes.rq.RqWithHeaders;
+import org.takes.rs.ResponseOf;
+import org.takes.rs.RsChunked;
 import org.takes.rs.RsPrint;
 import org.takes.rs.RsText;
+import org.takes.rs.RsWithHeader;
 import org.takes.rs.RsWithStatus;
 
 /**
  * Basic back-end.
  *
+ * <p>The connection is persistent, as required by RFC 7230: after
+ * the response is sent, the back waits for the next request in the same
+ * connection, unless the client asked to close it with
+ * {@code Connection: close} (or didn't ask to keep it alive with
+ * HTTP/1.0), or the connection stayed idle for too long, or served too
+ * many requests already. The part of the request body not consumed by
+ * the take is skipped before the next request is read.</p>
+ *
+ * <p>A response without {@code Content-Length} is sent in chunks, see
+ * {@link RsChunked}, if the client speaks HTTP/1.1; otherwise the
+ * connection is closed after it, since that is the only way to let
+ * the client find the end of the body.</p>
+ *
+ * <p>Pipelining is turned on by providing an executor: while an HTTP/1.1
+ * client has more requests already sent in the connection, up to the given
+ * number of them are read ahead (with their bodies, if they are small)
+ * and their takes run concurrently in the executor, while the responses
+ * are still printed in the order of the requests:</p>
+ *
+ * <pre> new BkBasic(take, Executors.newFixedThreadPool(8), 16)</pre>
+ *
  * <p>The class is immutable and thread-safe.
  *
  * @since 0.1
@@ -54,105 +89,567 @@ public final class BkBasic implements Back {
      */
     public static final String REMOTEPORT = "X-Takes-RemotePort";
 
+    /**
+     * How long to wait for the next request in a persistent
+     * connection, in milliseconds, by default.
+     */
+    private static final long IDLE = 5000L;
+
+    /**
+     * How many requests may be served in one connection, by default.
+     */
+    private static final int MAX = 100;
+
+    /**
+     * How many bytes of a request body, not consumed by the take, may
+     * be skipped in order to keep the connection alive.
+     */
+    private static final long DRAIN = 1L << 20;
+
+    /**
+     * Max length of a request body, which may be read ahead, while
+     * pipelining.
+     */
+    private static final long AHEAD = 64L << 10;
+
     /**
      * Take.
      */
     private final Take take;
 
+    /**
+     * Idle timeout of a persistent connection, in milliseconds.
+     */
+    private final long idle;
+
+    /**
+     * Max number of requests in one connection.
+     */
+    private final int max;
+
+    /**
+     * Executor of takes of pipelined requests.
+     */
+    private final Executor workers;
+
+    /**
+     * Max number of pipelined requests to read ahead.
+     */
+    private final int depth;
+
     /**
      * Ctor.
      * @param tks Take
      */
     public BkBasic(final Take tks) {
+        this(tks, BkBasic.IDLE, BkBasic.MAX);
+    }
+
+    /**
+     * Ctor.
+     * @param tks Take
+     * @param timeout How long to wait for the next request in a persistent
+     *  connection, in milliseconds
+     * @param requests Max number of requests to serve in one connection
+     * @since 2.0
+     */
+    public BkBasic(final Take tks, final long timeout, final int requests) {
+        this(tks, timeout, requests, Runnable::run, 1);
+    }
+
+    /**
+     * Ctor, with pipelining.
+     * @param tks Take
+     * @param exec Executor of takes of pipelined requests
+     * @param ahead Max number of pipelined requests to read ahead
+     * @since 2.0
+     */
+    public BkBasic(final Take tks, final Executor exec, final int ahead) {
+        this(tks, BkBasic.IDLE, BkBasic.MAX, exec, ahead);
+    }
+
+    /**
+     * Ctor.
+     * @param tks Take
+     * @param timeout How long to wait for the next request in a persistent
+     *  connection, in milliseconds
+     * @param requests Max number of requests to serve in one connection
+     * @param exec Executor of takes of pipelined requests
+     * @param ahead Max number of pipelined requests to read ahead
+     * @since 2.0
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public BkBasic(final Take tks, final long timeout, final int requests,
+        final Executor exec, final int ahead) {
         this.take = tks;
+        this.idle = timeout;
+        this.max = requests;
+        this.workers = exec;
+        this.depth = ahead;
     }
 
-    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
     @Override
     public void accept(final Socket socket) throws IOException {
         try (
-            InputStream input = socket.getInputStream();
-            BufferedOutputStream output = new BufferedOutputStream(
-                socket.getOutputStream()
-            )
+            InputStream input = new BufferedInputStream(
+                socket.getInputStream()
+            );
+            WireOutputStream output = new WireOutputStream(socket)
         ) {
-            while (true) {
-                this.print(
-                    BkBasic.addSocketHeaders(
-                        new RqLive(input),
-                        socket
-                    ),
-                    output
+            final Queue<Future<Response>> pipeline = new LinkedList<>();
+            int count = 0;
+            boolean alive = true;
+            while (alive && this.ready(socket, input)) {
+                ++count;
+                alive = this.serve(
+                    socket, input, output, count < this.max, pipeline
                 );
-                if (input.available() <= 0) {
-                    break;
+                if (pipeline.isEmpty()) {
+                    output.flush();
                 }
             }
         }
     }
 
     /**
-     * Print response to output stream, safely.
-     * @param req Request
+     * Read one request from the connection and answer it, or put it
+     * into the pipeline, if the client has more requests already sent.
+     * @param socket Socket
+     * @param input Input, positioned at the beginning of a request
      * @param output Output
+     * @param more Is it allowed to serve more requests after this one?
+     * @param pipeline Requests read ahead, which are not answered yet
+     * @return TRUE if the connection may be used for the next request
      * @throws IOException If fails
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    private boolean serve(final Socket socket, final InputStream input,
+        final WireOutputStream output, final boolean more,
+        final Queue<Future<Response>> pipeline) throws IOException {
+        boolean alive = false;
+        try {
+            final List<String> head = new ArrayList<>(0);
+            for (final String line : new RqLive(input).head()) {
+                head.add(line);
+            }
+            final boolean persistent = more && BkBasic.persistent(head);
+            final boolean chunks = BkBasic.chunks(head);
+            final long length = BkBasic.length(head);
+            BkBasic.addSocketHeaders(head, socket);
+            if (this.depth > 1 && persistent && chunks
+                && length >= 0L && length <= BkBasic.AHEAD) {
+                pipeline.add(
+                    this.submit(
+                        new RequestOf(
+                            head,
+                            new ByteArrayInputStream(
+                                BkBasic.body(input, length)
+                            )
+                        )
+                    )
+                );
+                alive = true;
+                if (input.available() <= 0 || pipeline.size() >= this.depth) {
+                    alive = BkBasic.flush(pipeline, output);
+                }
+            } else if (BkBasic.flush(pipeline, output)) {
+                final FramedInputStream body = new FramedInputStream(
+                    input, length
+                );
+                alive = BkBasic.print(
+                    this.act(new RequestOf(head, body)),
+                    output,
+                    persistent,
+                    chunks
+                ) && body.drain(BkBasic.DRAIN);
+            }
+        } catch (final HttpException ex) {
+            if (BkBasic.flush(pipeline, output)) {
+                BkBasic.print(
+                    BkBasic.failure(ex, ex.code()), output, false, false
+                );
+            }
+        }
+        return alive;
+    }
+
+    /**
+     * Wait for the next request in the connection.
+     * @param socket Socket
+     * @param input Input
+     * @return TRUE if there is something to read
+     * @throws IOException If fails
+     */
+    private boolean ready(final Socket socket, final InputStream input)
+        throws IOException {
+        boolean ready = input.available() > 0;
+        if (!ready) {
+            final int timeout = socket.getSoTimeout();
+            socket.setSoTimeout((int) this.idle);
+            input.mark(1);
+            try {
+                ready = input.read() >= 0;
+                input.reset();
+            } catch (final SocketTimeoutException ex) {
+                ready = false;
+            } finally {
+                if (!socket.isClosed()) {
+                    socket.setSoTimeout(timeout);
+                }
+            }
+        }
+        return ready;
+    }
+
+    /**
+     * Start the take of a pipelined request in the executor.
+     * @param req Request
+     * @return Future response
+     */
+    private Future<Response> submit(final Request req) {
+        final FutureTask<Response> task = new FutureTask<>(
+            () -> this.act(req)
+        );
+        this.workers.execute(task);
+        return task;
+    }
+
+    /**
+     * Run the take, turning its failure into a response.
+     * @param req Request
+     * @return Response
      */
     @SuppressWarnings("PMD.AvoidCatchingThrowable")
-    private void print(final Request req, final OutputStream output)
+    private Response act(final Request req) {
+        Response res;
+        try {
+            res = this.take.act(req);
+        } catch (final HttpException ex) {
+            res = BkBasic.failure(ex, ex.code());
+            // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final Throwable ex) {
+            res = BkBasic.failure(ex, HttpURLConnection.HTTP_INTERNAL_ERROR);
+        }
+        return res;
+    }
+
+    /**
+     * Print responses of all pipelined requests, in their order.
+     * @param pipeline Requests read ahead, which are not answered yet
+     * @param output Output
+     * @return TRUE if the connection may be used for the next request
+     * @throws IOException If fails
+     */
+    private static boolean flush(final Queue<Future<Response>> pipeline,
+        final WireOutputStream output) throws IOException {
+        boolean alive = true;
+        while (!pipeline.isEmpty()) {
+            final Future<Response> next = pipeline.remove();
+            if (alive) {
+                alive = BkBasic.print(BkBasic.result(next), output, true, true);
+            } else {
+                next.cancel(true);
+            }
+        }
+        output.flush();
+        return alive;
+    }
+
+    /**
+     * Wait for the response of a pipelined request.
+     * @param future Future response
+     * @return Response
+     * @throws IOException If interrupted
+     */
+    private static Response result(final Future<Response> future)
         throws IOException {
+        Response res;
         try {
-            new RsPrint(this.take.act(req)).print(output);
+            res = future.get();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a take", ex);
+        } catch (final ExecutionException ex) {
+            res = BkBasic.failure(
+                ex.getCause(), HttpURLConnection.HTTP_INTERNAL_ERROR
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Read the body of a request, which is read ahead.
+     * @param input Input, positioned at the beginning of the body
+     * @param length Length of the body
+     * @return Body
+     * @throws IOException If fails
+     */
+    private static byte[] body(final InputStream input, final long length)
+        throws IOException {
+        final byte[] body = new byte[(int) length];
+        new DataInputStream(input).readFully(body);
+        return body;
+    }
+
+    /**
+     * Print response to output stream, safely.
+     * @param res Response
+     * @param output Output
+     * @param persistent Does the client expect the connection to stay open?
+     * @param chunks Does the client accept a body in chunks?
+     * @return TRUE if the connection may be used for the next request
+     * @throws IOException If fails
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    private static boolean print(final Response res,
+        final WireOutputStream output, final boolean persistent,
+        final boolean chunks) throws IOException {
+        boolean alive = false;
+        try {
+            alive = BkBasic.render(res, output, persistent, chunks);
         } catch (final HttpException ex) {
-            new RsPrint(BkBasic.failure(ex, ex.code())).print(output);
-            // @checkstyle IllegalCatchCheck (10 lines)
+            BkBasic.render(
+                BkBasic.failure(ex, ex.code()), output, false, false
+            );
+            // @checkstyle IllegalCatchCheck (1 line)
         } catch (final Throwable ex) {
-            new RsPrint(
-                BkBasic.failure(
-                    ex,
-                    HttpURLConnection.HTTP_INTERNAL_ERROR
-                )
-            ).print(output);
+            BkBasic.render(
+                BkBasic.failure(ex, HttpURLConnection.HTTP_INTERNAL_ERROR),
+                output,
+                false,
+                false
+            );
         }
+        return alive;
     }
 
     /**
-     * Make a failure response.
+     * Print response to output stream, sending its body in chunks if
+     * it has no length, or closing the connection if the response
+     * doesn't let the client find its end otherwise.
+     * @param res Response
+     * @param output Output
+     * @param persistent Does the client expect the connection to stay open?
+     * @param chunks Does the client accept a body in chunks?
+     * @return TRUE if the connection may be used for the next request
+     * @throws IOException If fails
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private static boolean render(final Response res,
+        final WireOutputStream output, final boolean persistent,
+        final boolean chunks) throws IOException {
+        final List<String> head = new ArrayList<>(0);
+        for (final String line : res.head()) {
+            head.add(line);
+        }
+        final boolean framed = BkBasic.framed(head);
+        final String connection = BkBasic.header(head, "Connection");
+        final boolean alive = persistent
+            && !BkBasic.tokens(connection).contains("close")
+            && (framed || chunks);
+        if (!alive && connection.isEmpty()) {
+            head.add("Connection: close");
+        }
+        Response out = new ResponseOf(() -> head, res::body);
+        if (!framed && chunks) {
+            out = new RsChunked(out);
+        }
+        new RsPrint(out).printHead(output);
+        output.send(out.body());
+        return alive;
+    }
+
+    /**
+     * Make a failure response, which closes the connection.
      * @param err Error
      * @param code HTTP error code
      * @return Response
      */
-    private static Response failure(final Throwable err, final int code) {
-        return new RsWithStatus(
-            new RsText(
-                new InputStreamOf(
-                    new BytesOf(err)
-                )
+    static Response failure(final Throwable err, final int code) {
+        return new RsWithHeader(
+            new RsWithStatus(
+                new RsText(
+                    new InputStreamOf(
+                        new BytesOf(err)
+                    )
+                ),
+                code
             ),
-            code
+            "Connection",
+            "close"
+        );
+    }
+
+    /**
+     * Does the client want the connection to stay open after the request?
+     * @param head Head of the request
+     * @return TRUE if so
+     */
+    private static boolean persistent(final List<String> head) {
+        final List<String> connection = BkBasic.tokens(
+            BkBasic.header(head, "Connection")
         );
+        final boolean persistent;
+        if (head.get(0).endsWith("HTTP/1.0")) {
+            persistent = connection.contains("keep-alive");
+        } else {
+            persistent = !connection.contains("close");
+        }
+        return persistent;
+    }
+
+    /**
+     * Does the client accept a response body in chunks? It must speak
+     * HTTP/1.1 and expect a body, which is not the case for
+     * {@code HEAD} requests.
+     * @param head Head of the request
+     * @return TRUE if so
+     */
+    private static boolean chunks(final List<String> head) {
+        final String line = head.get(0);
+        return line.endsWith("HTTP/1.1") && !line.startsWith("HEAD ");
+    }
+
+    /**
+     * Find out the length of the request body, which is empty if
+     * there is neither {@code Content-Length} nor chunks (RFC 7230,
+     * section 3.3.3). When {@code Transfer-Encoding} is present, the
+     * last coding must be "chunked", otherwise the end of the body can't
+     * be found and the request is rejected.
+     * @param head Head of the request
+     * @return Length or {@link FramedInputStream#CHUNKED}
+     * @throws HttpException If the length is not valid
+     */
+    private static long length(final List<String> head)
+        throws HttpException {
+        final String length = BkBasic.header(head, "Content-Length");
+        final String encoding = BkBasic.header(head, "Transfer-Encoding");
+        final long size;
+        if (BkBasic.chunked(encoding)) {
+            size = FramedInputStream.CHUNKED;
+        } else if (!encoding.isEmpty()) {
+            throw new HttpException(
+                HttpURLConnection.HTTP_BAD_REQUEST,
+                String.format("Unsupported Transfer-Encoding: \"%s\"", encoding)
+            );
+        } else if (!length.isEmpty()) {
+            try {
+                size = Long.parseLong(length);
+            } catch (final NumberFormatException ex) {
+                throw new HttpException(
+                    HttpURLConnection.HTTP_BAD_REQUEST,
+                    String.format("Invalid Content-Length: \"%s\"", length),
+                    ex
+                );
+            }
+            if (size < 0L) {
+                throw new HttpException(
+                    HttpURLConnection.HTTP_BAD_REQUEST,
+                    String.format("Negative Content-Length: %d", size)
+                );
+            }
+        } else {
+            size = 0L;
+        }
+        return size;
+    }
+
+    /**
+     * Can the client find the end of the response without waiting for
+     * the connection to be closed?
+     * @param head Head of the response
+     * @return TRUE if so
+     */
+    private static boolean framed(final List<String> head) {
+        final String[] parts = head.get(0).split(" ", 3);
+        final boolean empty = parts.length > 1
+            && (parts[1].startsWith("1") || "204".equals(parts[1])
+            || "304".equals(parts[1]));
+        return empty
+            || !BkBasic.header(head, "Content-Length").isEmpty()
+            || BkBasic.chunked(BkBasic.header(head, "Transfer-Encoding"));
+    }
+
+    /**
+     * Is "chunked" the last coding in the value of
+     * {@code Transfer-Encoding}?
+     * @param encoding Value of the header
+     * @return TRUE if so
+     */
+    private static boolean chunked(final String encoding) {
+        final List<String> codings = BkBasic.tokens(encoding);
+        return !codings.isEmpty()
+            && "chunked".equals(codings.get(codings.size() - 1));
+    }
+
+    /**
+     * Split the value of a header into a list of tokens, separated
+     * by commas, such as {@code close, TE}.
+     * @param value Value of the header
+     * @return Lower cased tokens, without empty ones
+     */
+    private static List<String> tokens(final String value) {
+        final List<String> tokens = new ArrayList<>(1);
+        for (final String token : value.split(",")) {
+            final String trimmed = token.trim();
+            if (!trimmed.isEmpty()) {
+                tokens.add(trimmed.toLowerCase(Locale.ENGLISH));
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Find the value of the first header with the given name.
+     * @param head Head of the request or response
+     * @param name Name of the header, case-insensitive
+     * @return Value of the header or empty string if it's absent
+     */
+    private static String header(final List<String> head, final String name) {
+        String value = "";
+        for (final String line : head.subList(1, head.size())) {
+            final int colon = line.indexOf(':');
+            if (colon == name.length()
+                && line.regionMatches(true, 0, name, 0, colon)) {
+                value = line.substring(colon + 1).trim();
+                break;
+            }
+        }
+        return value;
     }
 
     /**
      * Adds custom headers with information about socket.
-     * @param req Request
+     *
+     * <p>The lines are added right into the head, so that the request
+     * gives the same head on every call and its headers are parsed
+     * only once, see {@link org.takes.rq.RqHeaders.Base}.</p>
+     *
+     * @param head Head of the request
      * @param socket Socket
-     * @return Request with custom headers
      */
-    private static Request addSocketHeaders(final Request req,
+    private static void addSocketHeaders(final List<String> head,
         final Socket socket) {
-        return new RqWithHeaders(
-            req,
+        head.add(
             String.format(
                 "%s: %s",
                 BkBasic.LOCALADDR,
                 socket.getLocalAddress().getHostAddress()
-            ),
-            String.format("%s: %d", BkBasic.LOCALPORT, socket.getLocalPort()),
+            )
+        );
+        head.add(
+            String.format("%s: %d", BkBasic.LOCALPORT, socket.getLocalPort())
+        );
+        head.add(
             String.format(
                 "%s: %s",
                 BkBasic.REMOTEADDR,
                 socket.getInetAddress().getHostAddress()
-            ),
+            )
+        );
+        head.add(
             String.format("%s: %d", BkBasic.REMOTEPORT, socket.getPort())
         );
     }
@@ -0,0 +1,68 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.http;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Back-end that runs every connection on its own virtual thread.
+ *
+ * <p>Unlike {@link BkParallel} with a fixed pool of platform threads,
+ * one slow take doesn't starve all other connections, since every
+ * socket gets a new and cheap virtual thread:</p>
+ *
+ * <pre> new FtBasic(
+ *   new BkVirtual(new BkSafe(new BkBasic(take))),
+ *   8080
+ * ).start(Exit.NEVER);</pre>
+ *
+ * <p>Virtual threads are available only in Java 21 and later; since the
+ * library is compiled for older versions, the executor is obtained
+ * reflectively and the constructor throws
+ * {@link UnsupportedOperationException} on older runtimes.</p>
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.0
+ */
+@EqualsAndHashCode(callSuper = true)
+public final class BkVirtual extends BkWrap {
+
+    /**
+     * Ctor.
+     * @param back Original back
+     */
+    public BkVirtual(final Back back) {
+        super(new BkParallel(back, BkVirtual.executor()));
+    }
+
+    /**
+     * Make an executor, which starts a new virtual thread for every task.
+     * @return Executor
+     */
+    private static ExecutorService executor() {
+        try {
+            return (ExecutorService) Executors.class
+                .getMethod("newVirtualThreadPerTaskExecutor")
+                .invoke(null);
+        } catch (final NoSuchMethodException ex) {
+            throw new UnsupportedOperationException(
+                String.format(
+                    "Virtual threads are not supported by Java %s, 21+ is required",
+                    System.getProperty("java.version")
+                ),
+                ex
+            );
+        } catch (final IllegalAccessException | InvocationTargetException ex) {
+            throw new IllegalStateException(
+                "Can't create an executor of virtual threads", ex
+            );
+        }
+    }
+
+}
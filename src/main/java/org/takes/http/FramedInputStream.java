@@ -0,0 +1,278 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Body of a request inside a persistent connection.
+ *
+ * <p>The stream gives away the bytes of the body exactly as they
+ * arrive, without decoding them, and stops at the end of the body, which
+ * is either known in advance ({@code Content-Length}) or found by
+ * following the chunks ({@code Transfer-Encoding: chunked}). Thus, the
+ * take may read as much of the body as it needs, while the back may
+ * {@link #drain(long)} the rest of it and read the next request from
+ * the same connection.</p>
+ *
+ * <p>The class is NOT thread-safe.
+ *
+ * @since 2.0
+ */
+final class FramedInputStream extends InputStream {
+
+    /**
+     * Length of a body encoded with chunks.
+     */
+    static final long CHUNKED = -1L;
+
+    /**
+     * Original stream.
+     */
+    private final InputStream origin;
+
+    /**
+     * Is it chunked?
+     */
+    private final boolean chunked;
+
+    /**
+     * Current state, for chunked bodies only.
+     */
+    private FramedInputStream.State state;
+
+    /**
+     * More bytes to read in the body or in the current chunk.
+     */
+    private long more;
+
+    /**
+     * Length of the current line of chunk size or trailer.
+     */
+    private int line;
+
+    /**
+     * Was there a semicolon or a space in the chunk size line?
+     */
+    private boolean extension;
+
+    /**
+     * Ctor.
+     * @param stream Original stream
+     * @param length Length of the body, or {@link #CHUNKED}
+     */
+    FramedInputStream(final InputStream stream, final long length) {
+        super();
+        this.origin = stream;
+        this.chunked = length == FramedInputStream.CHUNKED;
+        this.state = FramedInputStream.State.SIZE;
+        if (this.chunked) {
+            this.more = 0L;
+        } else {
+            this.more = length;
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int data;
+        if (this.chunked) {
+            data = this.next();
+        } else if (this.more <= 0L) {
+            data = -1;
+        } else {
+            data = this.origin.read();
+            if (data >= 0) {
+                --this.more;
+            }
+        }
+        return data;
+    }
+
+    @Override
+    public int read(final byte[] buf, final int off, final int len)
+        throws IOException {
+        final int seen;
+        if (len == 0) {
+            seen = 0;
+        } else if (this.chunked
+            && this.state != FramedInputStream.State.DATA) {
+            final int data = this.next();
+            if (data < 0) {
+                seen = -1;
+            } else {
+                buf[off] = (byte) data;
+                seen = 1;
+            }
+        } else if (this.more <= 0L) {
+            seen = -1;
+        } else {
+            seen = this.origin.read(
+                buf, off, (int) Math.min((long) len, this.more)
+            );
+            if (seen > 0) {
+                this.more -= (long) seen;
+                if (this.chunked && this.more == 0L) {
+                    this.state = FramedInputStream.State.SIZE;
+                }
+            }
+        }
+        return seen;
+    }
+
+    @Override
+    public int available() throws IOException {
+        final int avail;
+        if (this.chunked) {
+            avail = this.origin.available();
+        } else {
+            avail = (int) Math.min(
+                (long) this.origin.available(), this.more
+            );
+        }
+        return avail;
+    }
+
+    @Override
+    public void close() {
+        // The connection must stay open for the next request
+    }
+
+    /**
+     * Skip the rest of the body, if it's not too long.
+     * @param max Max number of bytes to skip
+     * @return TRUE if the end of body was reached
+     * @throws IOException If fails
+     */
+    boolean drain(final long max) throws IOException {
+        final byte[] buf = new byte[8192];
+        long total = 0L;
+        boolean done = false;
+        while (total <= max) {
+            final int seen = this.read(buf, 0, buf.length);
+            if (seen < 0) {
+                done = !this.broken();
+                break;
+            }
+            total += (long) seen;
+        }
+        return done;
+    }
+
+    /**
+     * Was the stream cut before the end of the body?
+     * @return TRUE if so
+     */
+    private boolean broken() {
+        final boolean broken;
+        if (this.chunked) {
+            broken = this.state != FramedInputStream.State.END;
+        } else {
+            broken = this.more > 0L;
+        }
+        return broken;
+    }
+
+    /**
+     * Read the next byte of a chunked body.
+     * @return The byte or -1 if the end of the body is reached
+     * @throws IOException If fails
+     * @checkstyle CyclomaticComplexityCheck (70 lines)
+     */
+    @SuppressWarnings("PMD.CognitiveComplexity")
+    private int next() throws IOException {
+        int data = -1;
+        if (this.state != FramedInputStream.State.END) {
+            data = this.origin.read();
+        }
+        if (data >= 0) {
+            switch (this.state) {
+                case SIZE:
+                    this.size(data);
+                    break;
+                case DATA:
+                    --this.more;
+                    if (this.more == 0L) {
+                        this.state = FramedInputStream.State.SIZE;
+                    }
+                    break;
+                case TRAILER:
+                    if (data == '\n') {
+                        if (this.line == 0) {
+                            this.state = FramedInputStream.State.END;
+                        }
+                        this.line = 0;
+                    } else if (data != '\r') {
+                        ++this.line;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Consume the next byte of a line with chunk size.
+     * @param data The byte
+     * @throws IOException If the line is broken
+     */
+    private void size(final int data) throws IOException {
+        if (data == '\n') {
+            if (this.line == 0) {
+                throw new IOException("Chunk size is absent");
+            }
+            if (this.more == 0L) {
+                this.state = FramedInputStream.State.TRAILER;
+            } else {
+                this.more += 2L;
+                this.state = FramedInputStream.State.DATA;
+            }
+            this.line = 0;
+            this.extension = false;
+        } else if (data == ';' || data == ' ' || data == '\t') {
+            this.extension = true;
+        } else if (data != '\r' && !this.extension) {
+            final int digit = Character.digit(data, 16);
+            if (digit < 0 || this.more > (Long.MAX_VALUE >> 4)) {
+                throw new IOException(
+                    String.format(
+                        "Illegal character 0x%02X in chunk size", data
+                    )
+                );
+            }
+            this.more = (this.more << 4) + (long) digit;
+            ++this.line;
+        }
+    }
+
+    /**
+     * States of a chunked body.
+     * @since 2.0
+     */
+    private enum State {
+        /**
+         * Line with the size of the next chunk.
+         */
+        SIZE,
+
+        /**
+         * Data of the chunk, followed by CRLF.
+         */
+        DATA,
+
+        /**
+         * Trailers, after the last chunk.
+         */
+        TRAILER,
+
+        /**
+         * The body is over.
+         */
+        END
+    }
+}
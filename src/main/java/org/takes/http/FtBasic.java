@@ -5,8 +5,10 @@
 package org.takes.http;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.SocketTimeoutException;
+import java.nio.channels.ServerSocketChannel;
 import java.util.concurrent.TimeUnit;
 import lombok.EqualsAndHashCode;
 import org.takes.Take;
@@ -53,12 +55,21 @@ public final class FtBasic implements Front {
 
     /**
      * Ctor.
+     *
+     * <p>The server socket is opened through a
+     * {@link ServerSocketChannel}, so that accepted sockets have channels
+     * and {@link BkBasic} may send files to them without copying.</p>
+     *
      * @param that Back
      * @param port Port
      * @throws IOException If fails
      */
     public FtBasic(final Back that, final int port) throws IOException {
-        this(that, new ServerSocket(port));
+        this(
+            that,
+            ServerSocketChannel.open().bind(new InetSocketAddress(port))
+                .socket()
+        );
     }
 
     /**
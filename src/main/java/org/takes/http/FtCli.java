@@ -29,6 +29,10 @@ import org.takes.rq.RqWithHeader;
  * work in the foreground. The server will be started at a random TCP
  * port and its number will be saved to {@code /tmp/port.txt} file.</p>
  *
+ * <p>With {@code --virtual} every connection runs on its own virtual
+ * thread (see {@link BkVirtual}) and {@code --threads} is ignored;
+ * Java 21 or later is required for that.</p>
+ *
  * <p>The class is immutable and thread-safe.
  *
  * @since 0.1
@@ -83,13 +87,13 @@ public final class FtCli implements Front {
         );
         timeable.setDaemon(true);
         timeable.start();
-        final Front front = new FtBasic(
-            new BkParallel(
-                timeable,
-                this.options.threads()
-            ),
-            this.options.socket()
-        );
+        final Back back;
+        if (this.options.virtual()) {
+            back = new BkVirtual(timeable);
+        } else {
+            back = new BkParallel(timeable, this.options.threads());
+        }
+        final Front front = new FtBasic(back, this.options.socket());
         if (this.options.isDaemon()) {
             final Thread thread = new Thread(
                 () -> {
@@ -0,0 +1,1145 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.http;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import lombok.EqualsAndHashCode;
+import org.takes.HttpException;
+import org.takes.Request;
+import org.takes.Response;
+import org.takes.Take;
+import org.takes.rq.RequestOf;
+import org.takes.rs.RsPrint;
+
+/**
+ * Non-blocking front, based on NIO selectors.
+ *
+ * <p>Unlike {@link FtBasic}, which gives every socket to a {@link Back}
+ * for the entire life of the connection, this front accepts connections,
+ * reads and parses HTTP requests on a few event-loop threads, each with
+ * its own {@link Selector}. Only a complete request, with its head and
+ * its entire body, is given to a worker thread, which runs the take and
+ * prints the response back to the client. Idle keep-alive connections,
+ * that's why, don't occupy worker threads:</p>
+ *
+ * <pre> new FtNio(
+ *   new TkFork(new FkRegex("/", "hello, world!")),
+ *   8080
+ * ).start(Exit.NEVER);</pre>
+ *
+ * <p>The body of every request is buffered in memory before the take
+ * sees it, so don't use this front for large uploads; {@link FtBasic}
+ * is a better fit for them. A request with a longer body than allowed,
+ * 16 MB by default, is answered with "413 Request Entity Too Large" and
+ * the connection is closed. Connections that wait for the next request
+ * for longer than allowed, one minute by default, are closed too.</p>
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.0
+ */
+@EqualsAndHashCode
+@SuppressWarnings("PMD.TooManyMethods")
+public final class FtNio implements Front {
+
+    /**
+     * Default max length of request body, in bytes.
+     */
+    private static final long MAX_BODY = 16L << 20;
+
+    /**
+     * Default idle timeout of a connection, in msec.
+     */
+    private static final long IDLE = TimeUnit.MINUTES.toMillis(1L);
+
+    /**
+     * Take.
+     */
+    private final Take take;
+
+    /**
+     * Server socket channel.
+     */
+    private final ServerSocketChannel channel;
+
+    /**
+     * How many event loops to run.
+     */
+    private final int loops;
+
+    /**
+     * Workers, which run takes.
+     */
+    private final ExecutorService workers;
+
+    /**
+     * Max length of request body, in bytes.
+     */
+    private final long limit;
+
+    /**
+     * Idle timeout of a connection, in msec.
+     */
+    private final long idle;
+
+    /**
+     * Ctor.
+     * @param tks Take
+     * @param port Port
+     * @throws IOException If fails
+     */
+    public FtNio(final Take tks, final int port) throws IOException {
+        this(tks, FtNio.bind(port));
+    }
+
+    /**
+     * Ctor.
+     * @param tks Take
+     * @param chnl Server socket channel
+     */
+    public FtNio(final Take tks, final ServerSocketChannel chnl) {
+        this(
+            tks, chnl,
+            Math.max(1, Runtime.getRuntime().availableProcessors() >> 1),
+            Executors.newFixedThreadPool(
+                Runtime.getRuntime().availableProcessors() << 2
+            )
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param tks Take
+     * @param chnl Server socket channel
+     * @param lps How many event loops to run
+     * @param svc Workers, which run takes; shut down when the front stops
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public FtNio(final Take tks, final ServerSocketChannel chnl,
+        final int lps, final ExecutorService svc) {
+        this(tks, chnl, lps, svc, FtNio.MAX_BODY, FtNio.IDLE);
+    }
+
+    /**
+     * Ctor.
+     * @param tks Take
+     * @param chnl Server socket channel
+     * @param lps How many event loops to run
+     * @param svc Workers, which run takes; shut down when the front stops
+     * @param body Max length of request body, in bytes
+     * @param timeout How long a connection may wait for the next request,
+     *  in msec
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public FtNio(final Take tks, final ServerSocketChannel chnl,
+        final int lps, final ExecutorService svc, final long body,
+        final long timeout) {
+        this.take = tks;
+        this.channel = chnl;
+        this.loops = lps;
+        this.workers = svc;
+        this.limit = body;
+        this.idle = timeout;
+    }
+
+    @Override
+    public void start(final Exit exit) throws IOException {
+        final FtNio.Loop[] group = new FtNio.Loop[this.loops];
+        for (int idx = 0; idx < group.length; ++idx) {
+            group[idx] = new FtNio.Loop(
+                this.take, this.workers, this.limit, this.idle
+            );
+            final Thread thread = new Thread(
+                group[idx],
+                String.format("%s-%d", FtNio.class.getSimpleName(), idx)
+            );
+            thread.setDaemon(true);
+            thread.start();
+        }
+        try (Selector selector = Selector.open()) {
+            this.channel.configureBlocking(false);
+            this.channel.register(selector, SelectionKey.OP_ACCEPT);
+            long accepted = 0L;
+            do {
+                selector.select(TimeUnit.SECONDS.toMillis(1L));
+                selector.selectedKeys().clear();
+                while (true) {
+                    final SocketChannel client = this.channel.accept();
+                    if (client == null) {
+                        break;
+                    }
+                    group[(int) (accepted % group.length)].add(client);
+                    ++accepted;
+                }
+            } while (!exit.ready());
+        } finally {
+            this.channel.close();
+            for (final FtNio.Loop loop : group) {
+                loop.close();
+            }
+            this.workers.shutdown();
+        }
+    }
+
+    /**
+     * Open a server socket channel, bound to the port.
+     * @param port Port
+     * @return Channel
+     * @throws IOException If fails
+     */
+    private static ServerSocketChannel bind(final int port)
+        throws IOException {
+        final ServerSocketChannel chnl = ServerSocketChannel.open();
+        chnl.bind(new InetSocketAddress(port));
+        return chnl;
+    }
+
+    /**
+     * Event loop, which reads from a number of client connections.
+     *
+     * <p>All methods, except {@link #add(SocketChannel)},
+     * {@link #submit(Runnable)} and {@link #close()}, must be called only
+     * from the thread of the loop.</p>
+     *
+     * @since 2.0
+     */
+    private static final class Loop implements Runnable, Closeable {
+
+        /**
+         * Take.
+         */
+        private final Take take;
+
+        /**
+         * Workers.
+         */
+        private final ExecutorService workers;
+
+        /**
+         * Selector.
+         */
+        private final Selector selector;
+
+        /**
+         * Tasks to run in the thread of the loop.
+         */
+        private final Queue<Runnable> tasks;
+
+        /**
+         * Buffer to read into, shared by all connections of the loop.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * Max length of request body, in bytes.
+         */
+        private final long limit;
+
+        /**
+         * Idle timeout of a connection, in msec.
+         */
+        private final long idle;
+
+        /**
+         * How often to look for idle connections, in msec.
+         */
+        private final long tick;
+
+        /**
+         * When idle connections were looked for last time, in msec.
+         */
+        private long checked;
+
+        /**
+         * Ctor.
+         * @param tks Take
+         * @param svc Workers
+         * @param body Max length of request body, in bytes
+         * @param timeout Idle timeout of a connection, in msec
+         * @throws IOException If fails
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        Loop(final Take tks, final ExecutorService svc, final long body,
+            final long timeout) throws IOException {
+            this.take = tks;
+            this.workers = svc;
+            this.selector = Selector.open();
+            this.tasks = new ConcurrentLinkedQueue<>();
+            this.buffer = ByteBuffer.allocateDirect(16 << 10);
+            this.limit = body;
+            this.idle = timeout;
+            this.tick = Math.max(1L, Math.min(timeout, 1000L));
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (this.selector.isOpen()) {
+                    this.selector.select(this.tick);
+                    for (Runnable task = this.tasks.poll(); task != null;
+                        task = this.tasks.poll()) {
+                        task.run();
+                    }
+                    final Iterator<SelectionKey> keys =
+                        this.selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        final SelectionKey key = keys.next();
+                        keys.remove();
+                        if (key.isValid() && key.isReadable()) {
+                            ((FtNio.Connection) key.attachment()).read(
+                                this.buffer
+                            );
+                        }
+                    }
+                    this.expire();
+                }
+            } catch (final IOException | ClosedSelectorException ignored) {
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (final SelectionKey key : this.keys()) {
+                key.channel().close();
+            }
+            this.selector.close();
+        }
+
+        /**
+         * Start reading from a new client.
+         * @param client Channel of the client
+         */
+        void add(final SocketChannel client) {
+            this.submit(
+                () -> {
+                    try {
+                        client.configureBlocking(false);
+                        client.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                        final SelectionKey key = client.register(
+                            this.selector, SelectionKey.OP_READ
+                        );
+                        key.attach(new FtNio.Connection(this, client, key));
+                    } catch (final IOException ex) {
+                        FtNio.Loop.closeQuietly(client);
+                    }
+                }
+            );
+        }
+
+        /**
+         * Run this task in the thread of the loop.
+         * @param task The task
+         */
+        void submit(final Runnable task) {
+            this.tasks.add(task);
+            this.selector.wakeup();
+        }
+
+        /**
+         * Run this request through the take, in a worker thread.
+         * @param conn Connection to print response to
+         * @param req The request
+         * @param persistent Can the connection be reused for the next request
+         */
+        void dispatch(final FtNio.Connection conn, final Request req,
+            final boolean persistent) {
+            this.dispatch(conn, this.take, req, persistent);
+        }
+
+        /**
+         * Run this request through the given take, in a worker thread.
+         * @param conn Connection to print response to
+         * @param tks The take
+         * @param req The request
+         * @param persistent Can the connection be reused for the next request
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        void dispatch(final FtNio.Connection conn, final Take tks,
+            final Request req, final boolean persistent) {
+            try {
+                this.workers.execute(() -> conn.reply(tks, req, persistent));
+            } catch (final RejectedExecutionException ex) {
+                conn.close();
+            }
+        }
+
+        /**
+         * Max length of request body.
+         * @return Length in bytes
+         */
+        long limit() {
+            return this.limit;
+        }
+
+        /**
+         * Close connections, which wait for the next request for too long.
+         *
+         * <p>Connections, which are served by workers, are not interested
+         * in reading and are never idle.
+         */
+        private void expire() {
+            final long now = System.currentTimeMillis();
+            if (now - this.checked >= this.tick) {
+                this.checked = now;
+                for (final SelectionKey key : this.keys()) {
+                    final FtNio.Connection conn =
+                        (FtNio.Connection) key.attachment();
+                    if (conn != null && key.isValid()
+                        && key.interestOps() == SelectionKey.OP_READ
+                        && conn.idle(now) > this.idle) {
+                        conn.close();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Keys of all registered channels.
+         * @return Keys
+         */
+        private Iterable<SelectionKey> keys() {
+            Iterable<SelectionKey> keys;
+            try {
+                keys = new ArrayList<>(this.selector.keys());
+            } catch (final ClosedSelectorException ex) {
+                keys = new ArrayList<>(0);
+            }
+            return keys;
+        }
+
+        /**
+         * Close the channel, ignoring errors.
+         * @param closeable The channel
+         */
+        private static void closeQuietly(final Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (final IOException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Client connection.
+     *
+     * <p>The bytes received from the client are accumulated in a buffer
+     * until the head and the body of the next request are complete. The
+     * buffer is only touched from the thread of the loop, while the
+     * response is printed by a worker; in the meantime, the connection
+     * is not interested in reading.</p>
+     *
+     * @since 2.0
+     */
+    private static final class Connection {
+
+        /**
+         * Max length of request head, in bytes.
+         */
+        private static final int MAX_HEAD = 64 << 10;
+
+        /**
+         * How long to wait for the client to accept response bytes, in msec.
+         */
+        private static final long WRITE_TIMEOUT = TimeUnit.MINUTES.toMillis(1L);
+
+        /**
+         * Loop.
+         */
+        private final FtNio.Loop loop;
+
+        /**
+         * Channel.
+         */
+        private final SocketChannel channel;
+
+        /**
+         * Selection key.
+         */
+        private final SelectionKey key;
+
+        /**
+         * Bytes received, but not yet consumed.
+         */
+        private byte[] pending;
+
+        /**
+         * How many bytes in the pending buffer are meaningful.
+         */
+        private int size;
+
+        /**
+         * When the connection started waiting for bytes last time, in msec.
+         */
+        private long waiting;
+
+        /**
+         * Ctor.
+         * @param lop Loop
+         * @param chnl Channel
+         * @param sel Selection key
+         */
+        Connection(final FtNio.Loop lop, final SocketChannel chnl,
+            final SelectionKey sel) {
+            this.loop = lop;
+            this.channel = chnl;
+            this.key = sel;
+            this.pending = new byte[1024];
+            this.waiting = System.currentTimeMillis();
+        }
+
+        /**
+         * Read whatever is available and dispatch the request, if complete.
+         * @param buffer Buffer to read through
+         */
+        void read(final ByteBuffer buffer) {
+            this.waiting = System.currentTimeMillis();
+            final long cap = Math.min(
+                Integer.MAX_VALUE,
+                FtNio.Connection.MAX_HEAD + Math.min(
+                    this.loop.limit(), Integer.MAX_VALUE
+                )
+            );
+            try {
+                int got = 0;
+                while (this.size <= cap) {
+                    buffer.clear();
+                    got = this.channel.read(buffer);
+                    if (got <= 0) {
+                        break;
+                    }
+                    buffer.flip();
+                    this.append(buffer);
+                }
+                if (got < 0) {
+                    this.close();
+                } else {
+                    this.frame();
+                }
+            } catch (final IOException ex) {
+                this.close();
+            }
+        }
+
+        /**
+         * Run the take and print its response, in a worker thread.
+         * @param take The take
+         * @param req The request
+         * @param persistent Can the connection be reused for the next request
+         */
+        @SuppressWarnings("PMD.AvoidCatchingThrowable")
+        void reply(final Take take, final Request req,
+            final boolean persistent) {
+            boolean reuse = persistent;
+            try (FtNio.ChannelOutput sink = new FtNio.ChannelOutput(
+                this.channel
+            )) {
+                final OutputStream output = new BufferedOutputStream(
+                    sink, 16 << 10
+                );
+                try {
+                    final Response res = take.act(req);
+                    reuse = reuse && FtNio.Connection.framed(res);
+                    new RsPrint(res).print(output);
+                } catch (final HttpException ex) {
+                    reuse = false;
+                    new RsPrint(BkBasic.failure(ex, ex.code())).print(output);
+                    // @checkstyle IllegalCatchCheck (1 line)
+                } catch (final Throwable ex) {
+                    reuse = false;
+                    new RsPrint(
+                        BkBasic.failure(
+                            ex, HttpURLConnection.HTTP_INTERNAL_ERROR
+                        )
+                    ).print(output);
+                }
+                output.flush();
+            } catch (final IOException ex) {
+                reuse = false;
+            }
+            if (reuse) {
+                this.loop.submit(this::frame);
+            } else {
+                this.close();
+            }
+        }
+
+        /**
+         * How long the connection waits for bytes.
+         * @param now Current time, in msec
+         * @return Time in msec
+         */
+        long idle(final long now) {
+            return now - this.waiting;
+        }
+
+        /**
+         * Close the connection.
+         */
+        void close() {
+            this.key.cancel();
+            FtNio.Loop.closeQuietly(this.channel);
+        }
+
+        /**
+         * Dispatch the next request, if it's complete, or wait for more bytes.
+         */
+        private void frame() {
+            if (this.key.isValid()) {
+                final int head = FtNio.Connection.headEnd(
+                    this.pending, this.size
+                );
+                try {
+                    if (head >= 0) {
+                        this.frame(head);
+                    } else if (this.size > FtNio.Connection.MAX_HEAD) {
+                        throw new HttpException(
+                            HttpURLConnection.HTTP_BAD_REQUEST,
+                            "HTTP request head is too long"
+                        );
+                    } else {
+                        this.await();
+                    }
+                } catch (final HttpException ex) {
+                    this.fail(ex);
+                }
+            }
+        }
+
+        /**
+         * Dispatch the next request, if its body is complete.
+         * @param head Position right after the head
+         * @throws HttpException If the request is broken
+         */
+        private void frame(final int head) throws HttpException {
+            final List<String> lines = FtNio.Connection.lines(
+                this.pending, head
+            );
+            final int end = FtNio.Connection.bodyEnd(
+                lines, this.pending, head, this.size, this.loop.limit()
+            );
+            final int length;
+            if (end < 0) {
+                length = this.size - head;
+            } else {
+                length = end - head;
+            }
+            if (length > this.loop.limit()) {
+                throw new HttpException(
+                    HttpURLConnection.HTTP_ENTITY_TOO_LARGE,
+                    "HTTP request body is too long"
+                );
+            }
+            if (end < 0) {
+                this.await();
+            } else {
+                this.key.interestOps(0);
+                final boolean persistent = FtNio.Connection.persistent(lines);
+                final byte[] body = Arrays.copyOfRange(this.pending, head, end);
+                this.consume(end);
+                this.withSocket(lines);
+                this.loop.dispatch(
+                    this,
+                    new RequestOf(lines, new ByteArrayInputStream(body)),
+                    persistent
+                );
+            }
+        }
+
+        /**
+         * Wait for more bytes from the client.
+         */
+        private void await() {
+            this.waiting = System.currentTimeMillis();
+            this.key.interestOps(SelectionKey.OP_READ);
+        }
+
+        /**
+         * Respond with a failure and close the connection.
+         * @param err The failure
+         */
+        private void fail(final HttpException err) {
+            this.key.interestOps(0);
+            this.size = 0;
+            this.loop.dispatch(
+                this,
+                req -> {
+                    throw err;
+                },
+                new RequestOf(
+                    Collections.emptyList(),
+                    new ByteArrayInputStream(new byte[0])
+                ),
+                false
+            );
+        }
+
+        /**
+         * Append bytes to the pending buffer.
+         * @param buffer Bytes to append
+         */
+        private void append(final ByteBuffer buffer) {
+            final int more = buffer.remaining();
+            if (this.size + more > this.pending.length) {
+                this.pending = Arrays.copyOf(
+                    this.pending,
+                    Math.max(this.pending.length << 1, this.size + more)
+                );
+            }
+            buffer.get(this.pending, this.size, more);
+            this.size += more;
+        }
+
+        /**
+         * Remove consumed bytes from the pending buffer.
+         * @param count How many bytes were consumed
+         */
+        private void consume(final int count) {
+            System.arraycopy(
+                this.pending, count, this.pending, 0, this.size - count
+            );
+            this.size -= count;
+        }
+
+        /**
+         * Add headers with socket addresses, the same way
+         * {@link BkBasic} does.
+         * @param lines Head lines
+         */
+        private void withSocket(final List<String> lines) {
+            final Socket socket = this.channel.socket();
+            lines.add(
+                String.format(
+                    "%s: %s",
+                    BkBasic.LOCALADDR,
+                    socket.getLocalAddress().getHostAddress()
+                )
+            );
+            lines.add(
+                String.format("%s: %d", BkBasic.LOCALPORT, socket.getLocalPort())
+            );
+            lines.add(
+                String.format(
+                    "%s: %s",
+                    BkBasic.REMOTEADDR,
+                    socket.getInetAddress().getHostAddress()
+                )
+            );
+            lines.add(
+                String.format("%s: %d", BkBasic.REMOTEPORT, socket.getPort())
+            );
+        }
+
+        /**
+         * Position right after the empty line that terminates the head.
+         * @param data Bytes
+         * @param size How many bytes are meaningful
+         * @return Position or -1 if the head is not complete yet
+         */
+        private static int headEnd(final byte[] data, final int size) {
+            int end = -1;
+            for (int idx = 3; idx < size; ++idx) {
+                if (data[idx] == '\n' && data[idx - 1] == '\r'
+                    && data[idx - 2] == '\n' && data[idx - 3] == '\r') {
+                    end = idx + 1;
+                    break;
+                }
+            }
+            return end;
+        }
+
+        /**
+         * Split the head into lines, unfolding continuation lines.
+         * @param data Bytes
+         * @param end Position right after the head
+         * @return Lines
+         * @throws HttpException If the head is broken
+         */
+        private static List<String> lines(final byte[] data, final int end)
+            throws HttpException {
+            final List<String> lines = new ArrayList<>(16);
+            int start = 0;
+            for (int idx = 0; idx < end - 2; ++idx) {
+                final byte chr = data[idx];
+                if (chr == '\r') {
+                    if (data[idx + 1] != '\n') {
+                        throw new HttpException(
+                            HttpURLConnection.HTTP_BAD_REQUEST,
+                            String.format(
+                                "there is no LF after CR in header, line #%d",
+                                lines.size() + 1
+                            )
+                        );
+                    }
+                    final String line = new String(
+                        data, start, idx - start, StandardCharsets.ISO_8859_1
+                    );
+                    if (!lines.isEmpty() && start < idx
+                        && (data[start] == ' ' || data[start] == '\t')) {
+                        lines.set(
+                            lines.size() - 1,
+                            lines.get(lines.size() - 1).concat(line)
+                        );
+                    } else {
+                        lines.add(line);
+                    }
+                    ++idx;
+                    start = idx + 1;
+                } else if ((chr < 0x20 || chr > 0x7e) && chr != '\t') {
+                    throw new HttpException(
+                        HttpURLConnection.HTTP_BAD_REQUEST,
+                        String.format(
+                            "illegal character 0x%02X in HTTP header line #%d",
+                            chr & 0xff,
+                            lines.size() + 1
+                        )
+                    );
+                }
+            }
+            if (lines.isEmpty() || lines.get(0).isEmpty()) {
+                throw new HttpException(
+                    HttpURLConnection.HTTP_BAD_REQUEST,
+                    "empty request"
+                );
+            }
+            return lines;
+        }
+
+        /**
+         * Position right after the body, according to the head.
+         * @param lines Head lines
+         * @param data Bytes
+         * @param start Position of the body
+         * @param size How many bytes are meaningful
+         * @param limit Max length of the body, in bytes
+         * @return Position or -1 if the body is not complete yet
+         * @throws HttpException If the head is broken or the body is too long
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        private static int bodyEnd(final List<String> lines, final byte[] data,
+            final int start, final int size, final long limit)
+            throws HttpException {
+            final List<String> codings = FtNio.Connection.tokens(
+                FtNio.Connection.header(lines, "transfer-encoding")
+            );
+            final String length = FtNio.Connection.header(
+                lines, "content-length"
+            );
+            if (!codings.isEmpty() && !length.isEmpty()) {
+                throw new HttpException(
+                    HttpURLConnection.HTTP_BAD_REQUEST,
+                    "Both Transfer-Encoding and Content-Length are present"
+                );
+            }
+            final int end;
+            if (!codings.isEmpty()) {
+                if (!"chunked".equals(codings.get(codings.size() - 1))) {
+                    throw new HttpException(
+                        HttpURLConnection.HTTP_BAD_REQUEST,
+                        String.format(
+                            "Unsupported Transfer-Encoding: %s",
+                            String.join(", ", codings)
+                        )
+                    );
+                }
+                end = FtNio.Connection.chunksEnd(data, start, size);
+            } else {
+                if (length.isEmpty()) {
+                    end = start;
+                } else {
+                    final long total;
+                    try {
+                        total = Long.parseLong(length);
+                    } catch (final NumberFormatException ex) {
+                        throw new HttpException(
+                            HttpURLConnection.HTTP_BAD_REQUEST, ex
+                        );
+                    }
+                    if (total < 0L) {
+                        throw new HttpException(
+                            HttpURLConnection.HTTP_BAD_REQUEST,
+                            String.format("Invalid Content-Length: %s", length)
+                        );
+                    }
+                    if (total > limit || total > Integer.MAX_VALUE - start) {
+                        throw new HttpException(
+                            HttpURLConnection.HTTP_ENTITY_TOO_LARGE,
+                            String.format(
+                                "Content-Length %d is over the limit of %d",
+                                total, limit
+                            )
+                        );
+                    }
+                    if (start + total > size) {
+                        end = -1;
+                    } else {
+                        end = start + (int) total;
+                    }
+                }
+            }
+            return end;
+        }
+
+        /**
+         * Position right after the last chunk and its trailers.
+         * @param data Bytes
+         * @param start Position of the first chunk
+         * @param size How many bytes are meaningful
+         * @return Position or -1 if the last chunk is not received yet
+         * @throws HttpException If the chunks are broken
+         */
+        private static int chunksEnd(final byte[] data, final int start,
+            final int size) throws HttpException {
+            int pos = start;
+            int end = -1;
+            while (pos < size) {
+                final int eol = FtNio.Connection.eol(data, pos, size);
+                if (eol < 0) {
+                    break;
+                }
+                final String line = new String(
+                    data, pos, eol - pos, StandardCharsets.ISO_8859_1
+                );
+                final int semi = line.indexOf(';');
+                final long chunk;
+                try {
+                    if (semi < 0) {
+                        chunk = Long.parseLong(line.trim(), 16);
+                    } else {
+                        chunk = Long.parseLong(line.substring(0, semi).trim(), 16);
+                    }
+                } catch (final NumberFormatException ex) {
+                    throw new HttpException(
+                        HttpURLConnection.HTTP_BAD_REQUEST, ex
+                    );
+                }
+                if (chunk == 0L) {
+                    end = FtNio.Connection.trailersEnd(data, eol + 2, size);
+                    break;
+                }
+                if (chunk > Integer.MAX_VALUE - eol - 4) {
+                    throw new HttpException(
+                        HttpURLConnection.HTTP_BAD_REQUEST,
+                        String.format("Chunk is too big: %s", line)
+                    );
+                }
+                pos = eol + 2 + (int) chunk + 2;
+            }
+            return end;
+        }
+
+        /**
+         * Position right after the empty line that terminates trailers.
+         * @param data Bytes
+         * @param start Position of the first trailer
+         * @param size How many bytes are meaningful
+         * @return Position or -1 if trailers are not received yet
+         */
+        private static int trailersEnd(final byte[] data, final int start,
+            final int size) {
+            int pos = start;
+            int end = -1;
+            while (pos < size) {
+                final int eol = FtNio.Connection.eol(data, pos, size);
+                if (eol < 0) {
+                    break;
+                }
+                if (eol == pos) {
+                    end = eol + 2;
+                    break;
+                }
+                pos = eol + 2;
+            }
+            return end;
+        }
+
+        /**
+         * Position of the next CRLF.
+         * @param data Bytes
+         * @param start Where to start
+         * @param size How many bytes are meaningful
+         * @return Position of CR or -1 if not found
+         */
+        private static int eol(final byte[] data, final int start,
+            final int size) {
+            int eol = -1;
+            for (int idx = start; idx < size - 1; ++idx) {
+                if (data[idx] == '\r' && data[idx + 1] == '\n') {
+                    eol = idx;
+                    break;
+                }
+            }
+            return eol;
+        }
+
+        /**
+         * Can the connection be reused after this request?
+         * @param lines Head lines
+         * @return TRUE if it can
+         */
+        private static boolean persistent(final List<String> lines) {
+            final List<String> connection = FtNio.Connection.tokens(
+                FtNio.Connection.header(lines, "connection")
+            );
+            final boolean reuse;
+            if (lines.get(0).endsWith("HTTP/1.1")) {
+                reuse = !connection.contains("close");
+            } else {
+                reuse = connection.contains("keep-alive");
+            }
+            return reuse;
+        }
+
+        /**
+         * Is the length of the response known to the client?
+         * @param res Response
+         * @return TRUE if the client will find the end of it
+         * @throws IOException If fails
+         */
+        private static boolean framed(final Response res) throws IOException {
+            final List<String> lines = new ArrayList<>(16);
+            for (final String line : res.head()) {
+                lines.add(line);
+            }
+            return !FtNio.Connection.header(lines, "content-length").isEmpty()
+                && !FtNio.Connection.tokens(
+                    FtNio.Connection.header(lines, "connection")
+                ).contains("close");
+        }
+
+        /**
+         * Split the value of a header into a list of tokens, separated
+         * by commas, such as {@code close, TE}.
+         * @param value Value of the header
+         * @return Lower cased tokens, without empty ones
+         */
+        private static List<String> tokens(final String value) {
+            final List<String> tokens = new ArrayList<>(1);
+            for (final String token : value.split(",")) {
+                final String trimmed = token.trim();
+                if (!trimmed.isEmpty()) {
+                    tokens.add(trimmed.toLowerCase(Locale.ENGLISH));
+                }
+            }
+            return tokens;
+        }
+
+        /**
+         * Find the value of the first header with this name.
+         * @param lines Head lines, the first one is ignored
+         * @param name Name of the header, in lower case
+         * @return Value or empty string if absent
+         */
+        private static String header(final List<String> lines,
+            final String name) {
+            String value = "";
+            for (int idx = 1; idx < lines.size(); ++idx) {
+                final String line = lines.get(idx);
+                if (line.length() > name.length()
+                    && line.charAt(name.length()) == ':'
+                    && line.regionMatches(true, 0, name, 0, name.length())) {
+                    value = line.substring(name.length() + 1).trim();
+                    break;
+                }
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Output stream that writes to a non-blocking channel, waiting
+     * when the client is not ready to accept more bytes.
+     *
+     * @since 2.0
+     */
+    private static final class ChannelOutput extends OutputStream {
+
+        /**
+         * Channel.
+         */
+        private final SocketChannel channel;
+
+        /**
+         * Selector to wait on, created only when needed.
+         */
+        private Selector selector;
+
+        /**
+         * Ctor.
+         * @param chnl Channel
+         */
+        ChannelOutput(final SocketChannel chnl) {
+            super();
+            this.channel = chnl;
+        }
+
+        @Override
+        public void write(final int data) throws IOException {
+            this.write(new byte[] {(byte) data}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] buf, final int off, final int len)
+            throws IOException {
+            final ByteBuffer src = ByteBuffer.wrap(buf, off, len);
+            while (src.hasRemaining()) {
+                if (this.channel.write(src) == 0) {
+                    this.await();
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (this.selector != null) {
+                this.selector.close();
+            }
+        }
+
+        /**
+         * Wait until the channel is ready for writing.
+         * @throws IOException If fails or times out
+         */
+        private void await() throws IOException {
+            if (this.selector == null) {
+                this.selector = Selector.open();
+                this.channel.register(this.selector, SelectionKey.OP_WRITE);
+            }
+            if (this.selector.select(FtNio.Connection.WRITE_TIMEOUT) == 0) {
+                throw new SocketTimeoutException(
+                    "The client doesn't accept the response"
+                );
+            }
+            this.selector.selectedKeys().clear();
+        }
+    }
+}
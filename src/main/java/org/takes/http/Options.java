@@ -8,7 +8,9 @@ import java.io.File;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.Writer;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
+import java.nio.channels.ServerSocketChannel;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
@@ -60,6 +62,10 @@ final class Options {
 
     /**
      * Get the socket to listen to.
+     *
+     * <p>The socket is opened through a {@link ServerSocketChannel}, as
+     * {@link FtBasic} does it, so that accepted sockets have channels
+     * and responses can be sent without copying.</p>
      * @return Socket
      * @throws IOException If fails
      */
@@ -70,19 +76,19 @@ final class Options {
         }
         final ServerSocket socket;
         if (port.matches("\\d+")) {
-            socket = new ServerSocket(Integer.parseInt(port));
+            socket = Options.open(Integer.parseInt(port));
         } else {
             final File file = new File(port);
             if (file.exists()) {
                 try (Reader reader = new ReaderOf(file.toPath())) {
                     final char[] chars = new char[8];
                     final int length = reader.read(chars);
-                    socket = new ServerSocket(
+                    socket = Options.open(
                         Integer.parseInt(new String(chars, 0, length))
                     );
                 }
             } else {
-                socket = new ServerSocket(0);
+                socket = Options.open(0);
                 try (Writer writer = new WriterTo(file.toPath())) {
                     writer.append(Integer.toString(socket.getLocalPort()));
                 }
@@ -91,6 +97,18 @@ final class Options {
         return socket;
     }
 
+    /**
+     * Open a server socket with a channel.
+     * @param port The port, or zero for any free one
+     * @return Socket
+     * @throws IOException If fails
+     */
+    private static ServerSocket open(final int port) throws IOException {
+        return ServerSocketChannel.open()
+            .bind(new InetSocketAddress(port))
+            .socket();
+    }
+
     /**
      * Are we in hit-refresh mode?
      * @return TRUE if this mode is ON
@@ -100,6 +118,15 @@ final class Options {
         return this.map.containsKey("hit-refresh");
     }
 
+    /**
+     * Should connections run on virtual threads?
+     * @return TRUE if this mode is ON
+     * @since 2.0
+     */
+    public boolean virtual() {
+        return this.map.containsKey("virtual");
+    }
+
     /**
      * Get the lifetime in milliseconds.
      * @return Port number
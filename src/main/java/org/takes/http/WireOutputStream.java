@@ -0,0 +1,107 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.http;
+
+import java.io.BufferedOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Buffered output of a socket, which sends files without copying
+ * them through the heap.
+ *
+ * <p>If the body of a response is a {@link FileInputStream} and the
+ * socket has a channel (it does, if it was accepted by a
+ * {@link java.nio.channels.ServerSocketChannel}), the file is sent
+ * with {@link FileChannel#transferTo(long, long, WritableByteChannel)},
+ * which is {@code sendfile()} in most operating systems. If the socket has
+ * no channel, the file is read into a large direct buffer, avoiding
+ * the copying in {@link FileInputStream#read(byte[])}. Other bodies
+ * are copied as usual.</p>
+ *
+ * <p>The class is NOT thread-safe.
+ *
+ * @since 2.0
+ */
+final class WireOutputStream extends BufferedOutputStream {
+
+    /**
+     * Size of the buffer for files, when zero-copy is not possible.
+     */
+    private static final int DIRECT = 256 << 10;
+
+    /**
+     * Socket.
+     */
+    private final Socket socket;
+
+    /**
+     * Ctor.
+     * @param skt Socket
+     * @throws IOException If fails
+     */
+    WireOutputStream(final Socket skt) throws IOException {
+        super(skt.getOutputStream());
+        this.socket = skt;
+    }
+
+    /**
+     * Send the body of a response and close it.
+     * @param body The body
+     * @throws IOException If fails
+     */
+    void send(final InputStream body) throws IOException {
+        try (InputStream input = body) {
+            if (input instanceof FileInputStream) {
+                this.flush();
+                this.send(((FileInputStream) input).getChannel());
+            } else {
+                final byte[] buf = new byte[4096];
+                while (true) {
+                    final int bytes = input.read(buf);
+                    if (bytes < 0) {
+                        break;
+                    }
+                    this.write(buf, 0, bytes);
+                }
+            }
+        }
+    }
+
+    /**
+     * Send the rest of the file.
+     * @param file The file
+     * @throws IOException If fails
+     */
+    private void send(final FileChannel file) throws IOException {
+        final SocketChannel channel = this.socket.getChannel();
+        if (channel == null) {
+            final WritableByteChannel target = Channels.newChannel(this.out);
+            final ByteBuffer buf = ByteBuffer.allocateDirect(
+                WireOutputStream.DIRECT
+            );
+            while (file.read(buf) >= 0) {
+                buf.flip();
+                while (buf.hasRemaining()) {
+                    target.write(buf);
+                }
+                buf.clear();
+            }
+        } else {
+            final long size = file.size();
+            long pos = file.position();
+            while (pos < size) {
+                pos += file.transferTo(pos, size - pos, channel);
+            }
+        }
+    }
+}
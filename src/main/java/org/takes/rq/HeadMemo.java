@@ -0,0 +1,124 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.rq;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedList;
+import org.cactoos.Func;
+import org.cactoos.scalar.IoChecked;
+import org.takes.Request;
+
+/**
+ * Memo of a view derived from the head of a request, such as its
+ * {@link org.takes.misc.Href} or cookies.
+ *
+ * <p>The view is made once per head and shared by all requests and
+ * decorators, which give the same head object: a few recent heads are
+ * kept by each thread, by weak references, which means that the views
+ * live only as long as their heads do and don't need any locking.
+ * Heads are compared by identity, never by their lines, so a decorator
+ * that doesn't change the head gets the same view, while a decorator
+ * that makes a new head, like {@link RqWithHeader}, gets a new view,
+ * even if the lines are the same:</p>
+ *
+ * <pre> private static final HeadMemo&lt;String&gt; HOSTS = new HeadMemo&lt;&gt;(
+ *   req -&gt; new RqHeaders.Smart(req).single("Host")
+ * );</pre>
+ *
+ * <p>The view must be immutable and must not refer to the head,
+ * otherwise the head will never be collected.</p>
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @param <T> Type of the view
+ * @since 2.0
+ */
+public final class HeadMemo<T> {
+
+    /**
+     * How many heads each thread remembers.
+     */
+    private static final int SIZE = 16;
+
+    /**
+     * Views of heads recently seen by the current thread, the latest
+     * first.
+     */
+    private final ThreadLocal<Deque<HeadMemo.Entry<T>>> cache;
+
+    /**
+     * Function that makes a view of the request.
+     */
+    private final Func<Request, T> func;
+
+    /**
+     * Ctor.
+     * @param fnc Function that makes a view of the request
+     */
+    public HeadMemo(final Func<Request, T> fnc) {
+        this.cache = ThreadLocal.withInitial(LinkedList::new);
+        this.func = fnc;
+    }
+
+    /**
+     * Get the view of the request, making it if it's not made yet.
+     * @param req The request
+     * @return The view
+     * @throws IOException If fails
+     */
+    public T get(final Request req) throws IOException {
+        final Iterable<String> head = req.head();
+        final Deque<HeadMemo.Entry<T>> views = this.cache.get();
+        T view = null;
+        final Iterator<HeadMemo.Entry<T>> entries = views.iterator();
+        while (entries.hasNext()) {
+            final HeadMemo.Entry<T> entry = entries.next();
+            final Iterable<String> key = entry.get();
+            if (key == null) {
+                entries.remove();
+            } else if (key == head) {
+                view = entry.view;
+                break;
+            }
+        }
+        if (view == null) {
+            view = new IoChecked<>(
+                () -> this.func.apply(new RequestOf(() -> head, req::body))
+            ).value();
+            views.addFirst(new HeadMemo.Entry<>(head, view));
+            if (views.size() > HeadMemo.SIZE) {
+                views.removeLast();
+            }
+        }
+        return view;
+    }
+
+    /**
+     * View of a head, which doesn't keep the head from being collected.
+     * @param <T> Type of the view
+     * @since 2.0
+     */
+    private static final class Entry<T>
+        extends WeakReference<Iterable<String>> {
+
+        /**
+         * The view.
+         */
+        private final T view;
+
+        /**
+         * Ctor.
+         * @param head The head
+         * @param made The view of it
+         */
+        Entry(final Iterable<String> head, final T made) {
+            super(head);
+            this.view = made;
+        }
+    }
+}
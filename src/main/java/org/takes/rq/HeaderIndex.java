@@ -0,0 +1,123 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.rq;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.takes.HttpException;
+import org.takes.Request;
+
+/**
+ * Case-insensitive index of request headers, parsed once.
+ *
+ * <p>All {@link RqHeaders.Base} views of the same head share the same
+ * index, see {@link HeadMemo}. Heads are compared by identity, so a
+ * new list of lines, as {@link RqWithHeaders} makes on every call, gets
+ * its own index.</p>
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.0
+ */
+final class HeaderIndex {
+
+    /**
+     * Indexes of heads.
+     */
+    private static final HeadMemo<HeaderIndex> INDEXES = new HeadMemo<>(
+        req -> new HeaderIndex(HeaderIndex.parse(req.head()))
+    );
+
+    /**
+     * Values by lower-cased names.
+     */
+    private final Map<String, List<String>> map;
+
+    /**
+     * Ctor.
+     * @param values Values by lower-cased names
+     */
+    private HeaderIndex(final Map<String, List<String>> values) {
+        this.map = values;
+    }
+
+    /**
+     * Get the values of the header.
+     * @param name Name of the header, in lower case
+     * @return Values (empty list if there are none)
+     */
+    List<String> values(final String name) {
+        return this.map.getOrDefault(name, Collections.emptyList());
+    }
+
+    /**
+     * Get all header names, in lower case.
+     * @return Names
+     */
+    Set<String> names() {
+        return Collections.unmodifiableSet(this.map.keySet());
+    }
+
+    /**
+     * Find or build the index of the head of the request.
+     * @param req The request
+     * @return Index
+     * @throws IOException If the head is broken
+     */
+    static HeaderIndex of(final Request req) throws IOException {
+        return HeaderIndex.INDEXES.get(req);
+    }
+
+    /**
+     * Parse them all in a map.
+     * @param lines The head
+     * @return Map of them
+     * @throws HttpException If fails
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    private static Map<String, List<String>> parse(
+        final Iterable<String> lines) throws HttpException {
+        final Iterator<String> head = lines.iterator();
+        if (!head.hasNext()) {
+            throw new HttpException(
+                HttpURLConnection.HTTP_BAD_REQUEST,
+                "A valid request must contain at least one line in the head"
+            );
+        }
+        head.next();
+        final Map<String, List<String>> map = new HashMap<>(16);
+        int pos = 1;
+        while (head.hasNext()) {
+            final String line = head.next();
+            final int colon = line.indexOf(':');
+            if (colon < 0) {
+                throw new HttpException(
+                    HttpURLConnection.HTTP_BAD_REQUEST,
+                    String.format(
+                        "Invalid HTTP header on line #%d: \"%s\"",
+                        pos, line
+                    )
+                );
+            }
+            map.computeIfAbsent(
+                line.substring(0, colon).trim().toLowerCase(Locale.ENGLISH),
+                key -> new ArrayList<>(1)
+            ).add(line.substring(colon + 1).trim());
+            ++pos;
+        }
+        for (final Map.Entry<String, List<String>> entry : map.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        return map;
+    }
+}
@@ -45,7 +45,7 @@ public final class RqChunk extends RqWrap {
         final Iterator<String> hdr = new RqHeaders.Base(req)
             .header("Transfer-Encoding").iterator();
         final InputStream result;
-        if (hdr.hasNext() && "chunked".equalsIgnoreCase(hdr.next())) {
+        if (hdr.hasNext() && RqChunk.chunked(hdr.next())) {
             result = new ChunkedInputStream(req.body());
         } else {
             result = req.body();
@@ -53,4 +53,17 @@ public final class RqChunk extends RqWrap {
         return result;
     }
 
+    /**
+     * Is "chunked" the last coding in the list, such as
+     * {@code gzip, chunked}?
+     * @param encoding Value of Transfer-Encoding header
+     * @return TRUE if so
+     */
+    private static boolean chunked(final String encoding) {
+        final String[] codings = encoding.split(",");
+        return codings.length > 0 && "chunked".equalsIgnoreCase(
+            codings[codings.length - 1].trim()
+        );
+    }
+
 }
@@ -7,19 +7,13 @@ package org.takes.rq;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
+import java.util.Locale;
 import java.util.Set;
 import lombok.EqualsAndHashCode;
 import org.cactoos.text.FormattedText;
-import org.cactoos.text.Lowered;
-import org.cactoos.text.TextOf;
-import org.cactoos.text.Trimmed;
-import org.cactoos.text.UncheckedText;
 import org.takes.HttpException;
 import org.takes.Request;
 import org.takes.misc.VerboseList;
@@ -73,26 +67,24 @@ public interface RqHeaders extends Request {
         @Override
         public List<String> header(final CharSequence key)
             throws IOException {
-            final List<String> values = this.map().getOrDefault(
-                new UncheckedText(
-                    new Lowered(key.toString())
-                ).asString(),
-                Collections.emptyList()
+            final HeaderIndex index = HeaderIndex.of(this);
+            final List<String> values = index.values(
+                key.toString().toLowerCase(Locale.ENGLISH)
             );
             final List<String> list;
             if (values.isEmpty()) {
                 list = new VerboseList<>(
-                    Collections.emptyList(),
+                    values,
                     new FormattedText(
                         "There are no headers by name \"%s\" among %d others: %s",
                         key,
-                        this.map().size(),
-                        this.map().keySet()
+                        index.names().size(),
+                        index.names()
                     )
                 );
             } else {
                 list = new VerboseList<>(
-                    values,
+                    new LinkedList<>(values),
                     new FormattedText(
                         "There are only %d headers by name \"%s\"",
                         values.size(),
@@ -105,53 +97,7 @@ public interface RqHeaders extends Request {
 
         @Override
         public Set<String> names() throws IOException {
-            return this.map().keySet();
-        }
-
-        /**
-         * Parse them all in a map.
-         *
-         * @return Map of them
-         * @throws IOException If fails
-         */
-        @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
-        private Map<String, List<String>> map() throws IOException {
-            final Iterator<String> head = this.head().iterator();
-            if (!head.hasNext()) {
-                throw new HttpException(
-                    HttpURLConnection.HTTP_BAD_REQUEST,
-                    "A valid request must contain at least one line in the head"
-                );
-            }
-            head.next();
-            final Map<String, List<String>> map = new HashMap<>(0);
-            int pos = 1;
-            while (head.hasNext()) {
-                final String line = head.next();
-                final String[] parts = line.split(":", 2);
-                if (parts.length < 2) {
-                    throw new HttpException(
-                        HttpURLConnection.HTTP_BAD_REQUEST,
-                        String.format(
-                            "Invalid HTTP header on line #%d: \"%s\"",
-                            pos, line
-                        )
-                    );
-                }
-                final String key = new UncheckedText(
-                    new Lowered(new Trimmed(new TextOf(parts[0])))
-                ).asString();
-                if (!map.containsKey(key)) {
-                    map.put(key, new LinkedList<>());
-                }
-                map.get(key).add(
-                    new UncheckedText(
-                        new Trimmed(new TextOf(parts[1]))
-                    ).asString()
-                );
-                pos += 1;
-            }
-            return map;
+            return HeaderIndex.of(this).names();
         }
     }
 
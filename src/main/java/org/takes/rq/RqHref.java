@@ -42,6 +42,12 @@ public interface RqHref extends Request {
      */
     @EqualsAndHashCode(callSuper = true)
     final class Base extends RqWrap implements RqHref {
+        /**
+         * HREFs of heads, parsed once per head.
+         */
+        private static final HeadMemo<Href> HREFS =
+            new HeadMemo<>(RqHref.Base::parse);
+
         /**
          * Ctor.
          * @param req Original request
@@ -52,10 +58,20 @@ public interface RqHref extends Request {
 
         @Override
         public Href href() throws IOException {
-            final String uri = new RqRequestLine.Base(this).uri();
-            final Iterator<String> hosts = new RqHeaders.Base(this)
-                .header("host").iterator();
-            final Iterator<String> protos = new RqHeaders.Base(this)
+            return RqHref.Base.HREFS.get(this);
+        }
+
+        /**
+         * Parse HREF of the request.
+         * @param req The request
+         * @return HTTP href
+         * @throws IOException If fails
+         */
+        private static Href parse(final Request req) throws IOException {
+            final String uri = new RqRequestLine.Base(req).uri();
+            final RqHeaders headers = new RqHeaders.Base(req);
+            final Iterator<String> hosts = headers.header("host").iterator();
+            final Iterator<String> protos = headers
                 .header("x-forwarded-proto").iterator();
             final Text host;
             if (hosts.hasNext()) {
@@ -4,23 +4,28 @@
  */
 package org.takes.rq;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
-import java.util.Collection;
-import java.util.LinkedList;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import lombok.EqualsAndHashCode;
-import org.cactoos.text.FormattedText;
-import org.cactoos.text.TextOf;
-import org.cactoos.text.UncheckedText;
 import org.takes.HttpException;
 import org.takes.Request;
-import org.takes.misc.Opt;
 
 /**
  * Live request.
  *
+ * <p>The head is read from the stream in blocks, which are scanned
+ * for line breaks in a tight loop. If the stream supports
+ * {@link InputStream#mark(int)}, the bytes read after the end of the
+ * head are given back to it, so that it stays right after the head.
+ * Otherwise, they are kept and the body of the request returns them
+ * first and then reads the stream itself, which is closed together
+ * with the body.</p>
+ *
  * <p>The class is immutable and thread-safe.
  *
  * @since 0.1
@@ -42,130 +47,315 @@ public final class RqLive extends RqWrap {
      * @param input Input stream
      * @return Request
      * @throws IOException If fails
-     * @checkstyle ExecutableStatementCountCheck (100 lines)
      */
-    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
     private static Request parse(final InputStream input) throws IOException {
-        boolean eof = true;
-        final Collection<String> head = new LinkedList<>();
-        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        Opt<Integer> data = new Opt.Empty<>();
-        data = RqLive.data(input, data, false);
-        while (data.get() > 0) {
-            eof = false;
-            if (data.get() == '\r') {
-                RqLive.checkLineFeed(input, baos, head.size() + 1);
-                if (baos.size() == 0) {
+        final RqLive.Scanner scanner = new RqLive.Scanner();
+        final List<String> head = scanner.head(input);
+        return new RequestOf(head, scanner.body(input));
+    }
+
+    /**
+     * Scanner of a head.
+     *
+     * <p>Lines are folded, if the next one starts with a space or a tab,
+     * as RFC 2616 permits. Since only US-ASCII printable characters and
+     * tabs are allowed in the head, lines are decoded as ISO-8859-1,
+     * which is a plain copy of bytes into chars.</p>
+     *
+     * <p>The class is NOT thread-safe, a new one is used for every
+     * request.
+     *
+     * @since 2.0
+     */
+    private static final class Scanner {
+
+        /**
+         * Size of the block to read from the stream.
+         */
+        private static final int BLOCK = 4096;
+
+        /**
+         * Block of bytes read from the stream.
+         */
+        private final byte[] block;
+
+        /**
+         * Lines of the head found so far.
+         */
+        private final List<String> lines;
+
+        /**
+         * Current line.
+         */
+        private byte[] line;
+
+        /**
+         * Length of the current line.
+         */
+        private int size;
+
+        /**
+         * Bytes read after the end of the head, which are not given back
+         * to the stream.
+         */
+        private byte[] rest;
+
+        /**
+         * Was the last byte a CR?
+         */
+        private boolean carriage;
+
+        /**
+         * Was the current line just ended by CRLF, but maybe continues in
+         * the next one?
+         */
+        private boolean eol;
+
+        /**
+         * Ctor.
+         */
+        Scanner() {
+            this.block = new byte[RqLive.Scanner.BLOCK];
+            this.lines = new ArrayList<>(16);
+            this.line = new byte[256];
+            this.rest = new byte[0];
+        }
+
+        /**
+         * Read the head from the stream, leaving the stream right after it,
+         * if it supports mark and reset.
+         * @param input Stream
+         * @return Lines of the head
+         * @throws IOException If fails
+         */
+        List<String> head(final InputStream input) throws IOException {
+            boolean empty = true;
+            while (true) {
+                if (input.markSupported()) {
+                    input.mark(this.block.length);
+                }
+                final int len = input.read(this.block, 0, this.block.length);
+                if (len < 0) {
+                    if (empty) {
+                        throw new IOException("empty request");
+                    }
+                    if (this.eol || this.size > 0) {
+                        this.emit();
+                    }
                     break;
                 }
-                data = new Opt.Single<>(input.read());
-                final Opt<String> header = RqLive.newHeader(data, baos);
-                if (header.has()) {
-                    head.add(header.get());
+                empty = false;
+                final int used = this.scan(len);
+                if (used >= 0) {
+                    if (used < len && input.markSupported()) {
+                        input.reset();
+                        RqLive.Scanner.skip(input, used);
+                    } else if (used < len) {
+                        this.rest = Arrays.copyOfRange(this.block, used, len);
+                    }
+                    break;
                 }
-                data = RqLive.data(input, data, false);
-                continue;
             }
-            baos.write(RqLive.legalCharacter(data, baos, head.size() + 1));
-            data = RqLive.data(input, new Opt.Empty<>(), true);
+            return this.lines;
         }
-        if (eof) {
-            throw new IOException("empty request");
+
+        /**
+         * Body of the request, after the head is read.
+         * @param input Stream
+         * @return Body
+         */
+        InputStream body(final InputStream input) {
+            final InputStream body;
+            if (this.rest.length == 0) {
+                body = input;
+            } else {
+                body = new RqLive.Rest(this.rest, input);
+            }
+            return body;
         }
-        return new RequestOf(head, input);
-    }
 
-    /**
-     * Checks whether or not the next byte to read is a Line Feed.
-     * <p><i>Please note that this method assumes that the previous byte read
-     * was a Carriage Return.</i>
-     * @param input The input stream to read
-     * @param baos Current read header
-     * @param position Header line number
-     * @throws IOException If the next byte is not a Line Feed as expected
-     */
-    private static void checkLineFeed(final InputStream input,
-        final ByteArrayOutputStream baos, final Integer position)
-        throws IOException {
-        if (input.read() != '\n') {
-            throw new HttpException(
-                HttpURLConnection.HTTP_BAD_REQUEST,
-                new FormattedText(
-                    "there is no LF after CR in header, line #%d: \"%s\"",
-                    position,
-                    new TextOf(baos.toByteArray())
-                ).toString()
-            );
+        /**
+         * Scan the bytes in the block.
+         * @param len How many bytes are there
+         * @return Number of bytes used, if the head is over, or -1
+         * @throws HttpException If the head is broken
+         * @checkstyle CyclomaticComplexityCheck (50 lines)
+         */
+        @SuppressWarnings("PMD.CognitiveComplexity")
+        private int scan(final int len) throws HttpException {
+            int used = -1;
+            for (int pos = 0; pos < len; ++pos) {
+                final int data = this.block[pos] & 0xFF;
+                if (this.carriage) {
+                    if (data != '\n') {
+                        throw new HttpException(
+                            HttpURLConnection.HTTP_BAD_REQUEST,
+                            String.format(
+                                "there is no LF after CR in header, line #%d: \"%s\"",
+                                this.lines.size() + 1, this.text()
+                            )
+                        );
+                    }
+                    this.carriage = false;
+                    if (this.eol) {
+                        this.emit();
+                        used = pos + 1;
+                        break;
+                    }
+                    this.eol = this.size > 0 || !this.lines.isEmpty();
+                } else if (data == '\r') {
+                    this.carriage = true;
+                } else {
+                    this.append(data);
+                }
+            }
+            return used;
         }
-    }
 
-    /**
-     * Builds current read header.
-     * @param data Current read character
-     * @param baos Current read header
-     * @return Read header
-     */
-    private static Opt<String> newHeader(final Opt<Integer> data,
-        final ByteArrayOutputStream baos) {
-        Opt<String> header = new Opt.Empty<>();
-        if (data.get() != ' ' && data.get() != '\t') {
-            header = new Opt.Single<>(
-                new UncheckedText(
-                    new TextOf(
-                        baos.toByteArray()
+        /**
+         * Append a byte to the current line or start the next one.
+         * @param data The byte
+         * @throws HttpException If the byte is not allowed
+         */
+        private void append(final int data) throws HttpException {
+            if (this.eol) {
+                this.eol = false;
+                if (data != ' ' && data != '\t') {
+                    this.emit();
+                }
+            }
+            if ((data > 0x7f || data < 0x20) && data != '\t') {
+                throw new HttpException(
+                    HttpURLConnection.HTTP_BAD_REQUEST,
+                    String.format(
+                        "illegal character 0x%02X in HTTP header line #%d: \"%s\"",
+                        data,
+                        this.lines.size() + 1,
+                        this.text()
                     )
-                ).asString()
-            );
-            baos.reset();
+                );
+            }
+            if (this.size == this.line.length) {
+                this.line = Arrays.copyOf(this.line, this.size << 1);
+            }
+            this.line[this.size] = (byte) data;
+            ++this.size;
         }
-        return header;
-    }
 
-    /**
-     * Returns a legal character based n the read character.
-     * @param data Character read
-     * @param baos Byte stream containing read header
-     * @param position Header line number
-     * @return A legal character
-     * @throws IOException if character is illegal
-     */
-    private static Integer legalCharacter(final Opt<Integer> data,
-        final ByteArrayOutputStream baos, final Integer position)
-        throws IOException {
-        if ((data.get() > 0x7f || data.get() < 0x20)
-            && data.get() != '\t') {
-            throw new HttpException(
-                HttpURLConnection.HTTP_BAD_REQUEST,
-                String.format(
-                    "illegal character 0x%02X in HTTP header line #%d: \"%s\"",
-                    data.get(),
-                    position,
-                    new TextOf(baos.toByteArray())
-                )
+        /**
+         * Add the current line to the head.
+         */
+        private void emit() {
+            this.lines.add(this.text());
+            this.size = 0;
+            this.eol = false;
+        }
+
+        /**
+         * Current line as text.
+         * @return Text
+         */
+        private String text() {
+            return new String(
+                this.line, 0, this.size, StandardCharsets.ISO_8859_1
             );
         }
-        return data.get();
+
+        /**
+         * Skip exactly this number of bytes.
+         * @param input Stream
+         * @param bytes How many bytes to skip
+         * @throws IOException If fails
+         */
+        private static void skip(final InputStream input, final int bytes)
+            throws IOException {
+            long left = bytes;
+            while (left > 0L) {
+                final long skipped = input.skip(left);
+                if (skipped > 0L) {
+                    left -= skipped;
+                } else if (input.read() >= 0) {
+                    --left;
+                } else {
+                    break;
+                }
+            }
+        }
     }
 
     /**
-     * Obtains new byte if hasn't.
-     * @param input Stream
-     * @param data Empty or current data
-     * @param available Indicates whether or not it should check first if there
-     *  are available bytes
-     * @return Next or current data
-     * @throws IOException if input.read() fails
+     * Body, which starts with the bytes read after the head.
+     *
+     * <p>After it is closed, it only reads the original stream, so
+     * that it fails the way the original stream does.
+     *
+     * <p>The class is NOT thread-safe.
+     *
+     * @since 2.0
      */
-    private static Opt<Integer> data(final InputStream input,
-        final Opt<Integer> data, final boolean available) throws IOException {
-        final Opt<Integer> ret;
-        if (data.has()) {
-            ret = data;
-        } else if (available && input.available() <= 0) {
-            ret = new Opt.Single<>(-1);
-        } else {
-            ret = new Opt.Single<>(input.read());
+    private static final class Rest extends InputStream {
+
+        /**
+         * Bytes read after the head.
+         */
+        private final byte[] bytes;
+
+        /**
+         * Original stream.
+         */
+        private final InputStream origin;
+
+        /**
+         * Position in the bytes.
+         */
+        private int pos;
+
+        /**
+         * Ctor.
+         * @param data Bytes read after the head
+         * @param input Original stream
+         */
+        Rest(final byte[] data, final InputStream input) {
+            super();
+            this.bytes = data;
+            this.origin = input;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int data;
+            if (this.pos < this.bytes.length) {
+                data = this.bytes[this.pos] & 0xFF;
+                ++this.pos;
+            } else {
+                data = this.origin.read();
+            }
+            return data;
+        }
+
+        @Override
+        public int read(final byte[] buf, final int off, final int len)
+            throws IOException {
+            final int read;
+            if (this.pos < this.bytes.length && len > 0) {
+                read = Math.min(len, this.bytes.length - this.pos);
+                System.arraycopy(this.bytes, this.pos, buf, off, read);
+                this.pos += read;
+            } else {
+                read = this.origin.read(buf, off, len);
+            }
+            return read;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return this.bytes.length - this.pos + this.origin.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.pos = this.bytes.length;
+            this.origin.close();
         }
-        return ret;
     }
 }
@@ -88,6 +88,12 @@ public interface RqMethod extends Request {
             "[()<>@,;:\\\"/\\[\\]?={}]"
         );
 
+        /**
+         * Methods of heads, parsed once per head.
+         */
+        private static final HeadMemo<String> METHODS =
+            new HeadMemo<>(RqMethod.Base::parse);
+
         /**
          * Ctor.
          * @param req Original request
@@ -98,7 +104,17 @@ public interface RqMethod extends Request {
 
         @Override
         public String method() throws IOException {
-            final String method = new RqRequestLine.Base(this)
+            return RqMethod.Base.METHODS.get(this);
+        }
+
+        /**
+         * Parse method of the request.
+         * @param req The request
+         * @return HTTP method
+         * @throws IOException If fails
+         */
+        private static String parse(final Request req) throws IOException {
+            final String method = new RqRequestLine.Base(req)
                 .method();
             if (Base.SEPARATORS.matcher(method).find()) {
                 throw new IOException(
@@ -0,0 +1,234 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.rq.form;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import org.takes.HttpException;
+
+/**
+ * Decoder of a body in {@code application/x-www-form-urlencoded}
+ * format, pair by pair.
+ *
+ * <p>The body is read in chunks, once, and every name and value is
+ * percent-decoded, as UTF-8, while it is being read. Names are lower
+ * cased and values are trimmed before decoding, so percent-encoded
+ * letters of names keep their case. Empty pairs are skipped;
+ * a pair without "=" is a "400 Bad Request". When a name or a value,
+ * before decoding, or the whole body is longer than allowed, it is a
+ * "413 Request Entity Too Large".</p>
+ *
+ * <p>The class is NOT thread-safe.
+ *
+ * @since 2.0
+ */
+final class FormDecoder {
+
+    /**
+     * End of the body.
+     */
+    private static final int EOF = -1;
+
+    /**
+     * Body of the request.
+     */
+    private final InputStream input;
+
+    /**
+     * Maximum length of a name or a value, in bytes.
+     */
+    private final int field;
+
+    /**
+     * Maximum length of the body, in bytes.
+     */
+    private final long limit;
+
+    /**
+     * Chunk of the body.
+     */
+    private final byte[] chunk;
+
+    /**
+     * Bytes of the name or the value being decoded.
+     */
+    private byte[] token;
+
+    /**
+     * Position in the chunk.
+     */
+    private int pos;
+
+    /**
+     * Number of bytes in the chunk.
+     */
+    private int len;
+
+    /**
+     * Number of bytes read from the body.
+     */
+    private long total;
+
+    /**
+     * Ctor.
+     * @param body Body of the request
+     * @param max Maximum length of a name or a value, in bytes
+     * @param size Maximum length of the body, in bytes
+     */
+    FormDecoder(final InputStream body, final int max, final long size) {
+        this.input = body;
+        this.field = max;
+        this.limit = size;
+        this.chunk = new byte[8192];
+        this.token = new byte[64];
+    }
+
+    /**
+     * Decode the next pair and add it to the map.
+     * @param map Values by names
+     * @return FALSE if the body is over
+     * @throws IOException If fails
+     */
+    boolean next(final Map<String, List<String>> map) throws IOException {
+        int data = this.read();
+        while (data == '&') {
+            data = this.read();
+        }
+        final boolean more = data != FormDecoder.EOF;
+        if (more) {
+            final int[] last = {data};
+            final String name = this.decode(last, '=', false);
+            if (last[0] != '=') {
+                throw new HttpException(
+                    HttpURLConnection.HTTP_BAD_REQUEST,
+                    String.format("invalid form body pair: %s", name)
+                );
+            }
+            last[0] = this.read();
+            final String value = this.decode(last, '&', true);
+            map.computeIfAbsent(name, key -> new LinkedList<>()).add(value);
+        }
+        return more;
+    }
+
+    /**
+     * Decode a name or a value.
+     * @param last The first byte, and then the byte that ended it
+     * @param end The byte that ends it
+     * @param value Is it a value, which is trimmed before decoding,
+     *  or a name, which is lower cased before decoding
+     * @return Decoded text
+     * @throws IOException If fails
+     * @checkstyle CyclomaticComplexityCheck (50 lines)
+     */
+    @SuppressWarnings("PMD.CognitiveComplexity")
+    private String decode(final int[] last, final int end,
+        final boolean value) throws IOException {
+        int size = 0;
+        int kept = 0;
+        int raw = 0;
+        int data = last[0];
+        while (data != end && data != '&' && data != FormDecoder.EOF) {
+            if (data == '%') {
+                raw += 3;
+            } else {
+                ++raw;
+            }
+            if (raw > this.field) {
+                throw new HttpException(
+                    HttpURLConnection.HTTP_ENTITY_TOO_LARGE,
+                    String.format(
+                        "form field is longer than %d bytes", this.field
+                    )
+                );
+            }
+            if (!value || data > ' ' || size > 0) {
+                final boolean blank = value && data <= ' ';
+                if (data == '%') {
+                    data = this.hex() << 4 | this.hex();
+                } else if (data == '+') {
+                    data = ' ';
+                } else if (!value && data >= 'A' && data <= 'Z') {
+                    data += 'a' - 'A';
+                }
+                this.put(size, data);
+                ++size;
+                if (!blank) {
+                    kept = size;
+                }
+            }
+            data = this.read();
+        }
+        last[0] = data;
+        if (!value) {
+            kept = size;
+        }
+        return new String(this.token, 0, kept, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Read a hex digit of a percent-encoded byte.
+     * @return Value of the digit
+     * @throws IOException If fails
+     */
+    private int hex() throws IOException {
+        final int data = this.read();
+        final int digit = Character.digit(data, 16);
+        if (data == FormDecoder.EOF || digit < 0) {
+            throw new HttpException(
+                HttpURLConnection.HTTP_BAD_REQUEST,
+                "invalid percent-encoding in form body"
+            );
+        }
+        return digit;
+    }
+
+    /**
+     * Put a byte to the token.
+     * @param idx Position
+     * @param data The byte
+     */
+    private void put(final int idx, final int data) {
+        if (idx == this.token.length) {
+            this.token = Arrays.copyOf(this.token, idx << 1);
+        }
+        this.token[idx] = (byte) data;
+    }
+
+    /**
+     * Read the next byte of the body.
+     * @return The byte or -1, if the body is over
+     * @throws IOException If fails
+     */
+    private int read() throws IOException {
+        if (this.pos == this.len) {
+            this.len = Math.max(0, this.input.read(this.chunk));
+            this.pos = 0;
+            this.total += this.len;
+            if (this.total > this.limit) {
+                throw new HttpException(
+                    HttpURLConnection.HTTP_ENTITY_TOO_LARGE,
+                    String.format(
+                        "form body is longer than %d bytes", this.limit
+                    )
+                );
+            }
+        }
+        final int data;
+        if (this.pos == this.len) {
+            data = FormDecoder.EOF;
+        } else {
+            data = this.chunk[this.pos] & 0xff;
+            ++this.pos;
+        }
+        return data;
+    }
+}
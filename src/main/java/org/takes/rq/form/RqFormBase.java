@@ -5,35 +5,32 @@
 package org.takes.rq.form;
 
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
-import java.net.HttpURLConnection;
-import java.net.URLDecoder;
-import java.nio.charset.Charset;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 import lombok.EqualsAndHashCode;
-import org.cactoos.Text;
 import org.cactoos.text.FormattedText;
 import org.cactoos.text.Lowered;
-import org.cactoos.text.TextOf;
-import org.cactoos.text.Trimmed;
 import org.cactoos.text.UncheckedText;
-import org.takes.HttpException;
 import org.takes.Request;
 import org.takes.misc.VerboseIterable;
+import org.takes.rq.RqChunk;
 import org.takes.rq.RqForm;
-import org.takes.rq.RqPrint;
+import org.takes.rq.RqLengthAware;
 import org.takes.rq.RqWrap;
 
 /**
  * Base implementation of {@link RqForm}.
+ *
+ * <p>The body is decoded in one pass, when a parameter is requested
+ * for the first time, see {@link RqFormLazy} to decode only as much of
+ * it as needed. Names and values are decoded as UTF-8. By default, the
+ * length of names, values and the body is not limited.
+ *
  * @since 0.33
  */
-@SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
 @EqualsAndHashCode(callSuper = true)
 public final class RqFormBase extends RqWrap implements RqForm {
 
@@ -47,14 +44,39 @@ public final class RqFormBase extends RqWrap implements RqForm {
      */
     private final List<Map<String, List<String>>> saved;
 
+    /**
+     * Maximum length of a name or a value, in bytes.
+     */
+    private final int field;
+
+    /**
+     * Maximum length of the body, in bytes.
+     */
+    private final long limit;
+
     /**
      * Ctor.
      * @param request Original request
      */
     public RqFormBase(final Request request) {
+        this(request, Integer.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Ctor.
+     * @param request Original request
+     * @param max Maximum length of a name or a value, before decoding,
+     *  in bytes
+     * @param size Maximum length of the body, in bytes
+     * @since 2.0
+     */
+    public RqFormBase(final Request request, final int max,
+        final long size) {
         super(request);
         this.saved = new CopyOnWriteArrayList<>();
         this.req = request;
+        this.field = max;
+        this.limit = size;
     }
 
     @Override
@@ -92,26 +114,6 @@ public final class RqFormBase extends RqWrap implements RqForm {
         return this.map().keySet();
     }
 
-    /**
-     * Decode from URL.
-     * @param txt Text
-     * @return Decoded
-     */
-    private static String decode(final Text txt) {
-        final String body = new UncheckedText(txt).asString();
-        try {
-            return URLDecoder.decode(
-                body,
-                Charset.defaultCharset().name()
-            );
-        } catch (final UnsupportedEncodingException ex) {
-            throw new IllegalStateException(
-                String.format("Failed to decode '%s'", body),
-                ex
-            );
-        }
-    }
-
     /**
      * Create map of request parameters.
      * @return Parameters map or empty map in case of error.
@@ -130,30 +132,15 @@ public final class RqFormBase extends RqWrap implements RqForm {
      * @throws IOException If something fails reading or parsing body
      */
     private Map<String, List<String>> freshMap() throws IOException {
-        final String body = new RqPrint(this.req).printBody();
+        final FormDecoder decoder = new FormDecoder(
+            new RqChunk(new RqLengthAware(this.req)).body(),
+            this.field,
+            this.limit
+        );
         final Map<String, List<String>> map = new HashMap<>(1);
-        for (final String pair : body.split("&")) {
-            if (pair.isEmpty()) {
-                continue;
-            }
-            final String[] parts = pair.split("=", 2);
-            if (parts.length < 2) {
-                throw new HttpException(
-                    HttpURLConnection.HTTP_BAD_REQUEST,
-                    String.format(
-                        "invalid form body pair: %s", pair
-                    )
-                );
-            }
-            final String key = RqFormBase.decode(new Lowered(parts[0]));
-            if (!map.containsKey(key)) {
-                map.put(key, new LinkedList<>());
-            }
-            map.get(key).add(
-                RqFormBase.decode(
-                    new Trimmed(new TextOf(parts[1]))
-                )
-            );
+        boolean more = true;
+        while (more) {
+            more = decoder.next(map);
         }
         return map;
     }
@@ -0,0 +1,219 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.rq.form;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.EqualsAndHashCode;
+import org.cactoos.text.FormattedText;
+import org.cactoos.text.Lowered;
+import org.cactoos.text.UncheckedText;
+import org.takes.Request;
+import org.takes.misc.Opt;
+import org.takes.misc.VerboseIterable;
+import org.takes.rq.RqChunk;
+import org.takes.rq.RqForm;
+import org.takes.rq.RqLengthAware;
+import org.takes.rq.RqWrap;
+
+/**
+ * Implementation of {@link RqForm}, which decodes the body only until
+ * the requested parameter is found, if asked for the first value only.
+ *
+ * <p>It is useful when the parameter needed, such as a CSRF token or an
+ * action, comes first in a large form:
+ *
+ * <pre> final Opt&lt;String&gt; action = new RqFormLazy(req).first("action");
+ * </pre>
+ *
+ * <p>{@link #first(CharSequence)} decodes the body until the first value
+ * of the parameter is found, or the body is over. The rest of the body
+ * is decoded when another parameter is asked for. {@link #param(CharSequence)}
+ * and {@link #names()} decode the entire body, so they give all values,
+ * like {@link RqFormBase} does.</p>
+ *
+ * <p>The class is thread-safe.
+ *
+ * @since 2.0
+ */
+@EqualsAndHashCode(callSuper = true, of = {})
+public final class RqFormLazy extends RqWrap implements RqForm {
+
+    /**
+     * Request.
+     */
+    private final Request req;
+
+    /**
+     * Maximum length of a name or a value, in bytes.
+     */
+    private final int field;
+
+    /**
+     * Maximum length of the body, in bytes.
+     */
+    private final long limit;
+
+    /**
+     * Values decoded so far, by names.
+     */
+    private final Map<String, List<String>> map;
+
+    /**
+     * Lock, which guards the decoder and doesn't pin virtual threads
+     * while the body is being read.
+     */
+    private final Lock lock;
+
+    /**
+     * Decoder of the body, when it is started.
+     */
+    private FormDecoder decoder;
+
+    /**
+     * Is the body decoded entirely?
+     */
+    private boolean done;
+
+    /**
+     * Ctor.
+     * @param request Original request
+     */
+    public RqFormLazy(final Request request) {
+        this(request, Integer.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Ctor.
+     * @param request Original request
+     * @param max Maximum length of a name or a value, before decoding,
+     *  in bytes
+     * @param size Maximum length of the body, in bytes
+     */
+    public RqFormLazy(final Request request, final int max,
+        final long size) {
+        super(request);
+        this.req = request;
+        this.field = max;
+        this.limit = size;
+        this.map = new HashMap<>(1);
+        this.lock = new ReentrantLock();
+    }
+
+    /**
+     * Get the first value of the parameter, decoding the body only until
+     * it is found.
+     * @param key The name of the parameter
+     * @return The value, if the parameter exists
+     * @throws IOException If fails
+     */
+    public Opt<String> first(final CharSequence key) throws IOException {
+        final String name = RqFormLazy.lower(key);
+        final Opt<String> first;
+        this.lock.lock();
+        try {
+            while (!this.map.containsKey(name) && !this.done) {
+                this.done = !this.decoder().next(this.map);
+            }
+            final List<String> values = this.map.get(name);
+            if (values == null) {
+                first = new Opt.Empty<>();
+            } else {
+                first = new Opt.Single<>(values.get(0));
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        return first;
+    }
+
+    @Override
+    public Iterable<String> param(final CharSequence key)
+        throws IOException {
+        final List<String> values;
+        this.lock.lock();
+        try {
+            this.decodeAll();
+            values = new ArrayList<>(
+                this.map.getOrDefault(
+                    RqFormLazy.lower(key), Collections.emptyList()
+                )
+            );
+        } finally {
+            this.lock.unlock();
+        }
+        final Iterable<String> iter;
+        if (values.isEmpty()) {
+            iter = new VerboseIterable<>(
+                Collections.emptyList(),
+                new FormattedText(
+                    "there are no params \"%s\"", key
+                )
+            );
+        } else {
+            iter = new VerboseIterable<>(
+                values,
+                new FormattedText(
+                    "there are only %d params by name \"%s\"",
+                    values.size(), key
+                )
+            );
+        }
+        return iter;
+    }
+
+    @Override
+    public Iterable<String> names() throws IOException {
+        this.lock.lock();
+        try {
+            this.decodeAll();
+            return new ArrayList<>(this.map.keySet());
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Decode the rest of the body, must be called under the lock.
+     * @throws IOException If fails
+     */
+    private void decodeAll() throws IOException {
+        while (!this.done) {
+            this.done = !this.decoder().next(this.map);
+        }
+    }
+
+    /**
+     * Get the decoder, starting it, if it is not started yet; must be
+     * called under the lock.
+     * @return Decoder
+     * @throws IOException If fails
+     */
+    private FormDecoder decoder() throws IOException {
+        if (this.decoder == null) {
+            this.decoder = new FormDecoder(
+                new RqChunk(new RqLengthAware(this.req)).body(),
+                this.field,
+                this.limit
+            );
+        }
+        return this.decoder;
+    }
+
+    /**
+     * Lower case the name of a parameter.
+     * @param key The name
+     * @return Name in lower case
+     */
+    private static String lower(final CharSequence key) {
+        return new UncheckedText(new Lowered(key.toString())).asString();
+    }
+}
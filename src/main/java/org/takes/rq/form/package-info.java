@@ -15,6 +15,8 @@
  *
  * <p>Current implementations:
  * {@link org.takes.rq.form.RqFormBase} base implementation;
+ * {@link org.takes.rq.form.RqFormLazy} implementation that can decode the
+ * body only until the first value of a parameter is found;
  * {@link org.takes.rq.form.RqFormFake} implementation that is useful for
  * testing purposes. You can add your parameters in constructor;
  * {@link org.takes.rq.form.RqFormSmart} decorator with extra features:
@@ -8,10 +8,21 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
 
 /**
  * Copy bytes until boundary reached.
  *
+ * <p>The boundary is found in the buffer with the Boyer-Moore-Horspool
+ * algorithm, and all bytes before it are written to the target at once.
+ * When the boundary is not in the buffer, all bytes but the last ones,
+ * which may be the beginning of the boundary, are written to the target,
+ * the rest is moved to the beginning of the buffer and more bytes are
+ * read after them. The buffer must be bigger than the boundary.</p>
+ *
+ * <p>After the copy, the buffer is positioned right after the boundary,
+ * or it is empty, if the source ended and the boundary was not found.
+ *
  * @since 1.19
  */
 public final class CopyBytesUntilBoundary {
@@ -36,6 +47,11 @@ public final class CopyBytesUntilBoundary {
      */
     private final ReadableByteChannel src;
 
+    /**
+     * Shifts of the search, by the last byte seen.
+     */
+    private final int[] shifts;
+
     /**
      * Ctor.
      * @param target Target
@@ -54,48 +70,94 @@ public final class CopyBytesUntilBoundary {
         this.target = target;
         this.boundary = boundary.clone();
         this.src = src;
+        this.shifts = CopyBytesUntilBoundary.shifts(this.boundary);
     }
 
     /**
      * Run pipeline.
      * @throws IOException If problems found in
-     * @checkstyle ExecutableStatementCountCheck (500 lines)
      */
-    @SuppressWarnings("PMD.CognitiveComplexity")
     public void copy() throws IOException {
-        int match = 0;
+        if (this.buffer.capacity() < this.boundary.length) {
+            throw new IOException(
+                String.format(
+                    "The buffer of %d bytes is smaller than the boundary of %d",
+                    this.buffer.capacity(), this.boundary.length
+                )
+            );
+        }
+        final int tail = this.boundary.length - 1;
         boolean cont = true;
         while (cont) {
-            if (!this.buffer.hasRemaining()) {
-                this.buffer.clear();
-                for (int idx = 0; idx < match; ++idx) {
-                    this.buffer.put(this.boundary[idx]);
-                }
-                match = 0;
-                if (this.src.read(this.buffer) == -1) {
-                    break;
-                }
+            final int found = this.find();
+            if (found >= 0) {
+                this.write(found);
+                this.buffer.position(found + this.boundary.length);
+                cont = false;
+            } else {
+                this.write(
+                    Math.max(this.buffer.position(), this.buffer.limit() - tail)
+                );
+                this.buffer.compact();
+                cont = this.src.read(this.buffer) >= 0;
                 this.buffer.flip();
-            }
-            final ByteBuffer btarget = this.buffer.slice();
-            final int offset = this.buffer.position();
-            btarget.limit(0);
-            while (this.buffer.hasRemaining()) {
-                final byte data = this.buffer.get();
-                if (data == this.boundary[match]) {
-                    ++match;
-                } else if (data == this.boundary[0]) {
-                    match = 1;
-                } else {
-                    match = 0;
-                    btarget.limit(this.buffer.position() - offset);
-                }
-                if (match == this.boundary.length) {
-                    cont = false;
-                    break;
+                if (!cont) {
+                    this.write(this.buffer.limit());
                 }
             }
-            this.target.write(btarget);
         }
     }
+
+    /**
+     * Find the boundary in the remaining bytes of the buffer.
+     * @return Absolute position of the boundary or -1 if not found
+     */
+    private int find() {
+        final int last = this.boundary.length - 1;
+        final int end = this.buffer.limit() - last;
+        int pos = this.buffer.position();
+        int found = -1;
+        while (pos < end) {
+            int idx = last;
+            while (idx >= 0
+                && this.buffer.get(pos + idx) == this.boundary[idx]) {
+                --idx;
+            }
+            if (idx < 0) {
+                found = pos;
+                break;
+            }
+            pos += this.shifts[this.buffer.get(pos + last) & 0xff];
+        }
+        return found;
+    }
+
+    /**
+     * Write bytes from the position of the buffer till the given
+     * position to the target, and move the buffer there.
+     * @param end Absolute position to write till
+     * @throws IOException If fails
+     */
+    private void write(final int end) throws IOException {
+        final ByteBuffer run = this.buffer.duplicate();
+        run.limit(end);
+        while (run.hasRemaining()) {
+            this.target.write(run);
+        }
+        this.buffer.position(end);
+    }
+
+    /**
+     * Make the table of shifts of the boundary.
+     * @param boundary Boundary
+     * @return Shifts by the last byte seen
+     */
+    private static int[] shifts(final byte[] boundary) {
+        final int[] shifts = new int[256];
+        Arrays.fill(shifts, boundary.length);
+        for (int idx = 0; idx < boundary.length - 1; ++idx) {
+            shifts[boundary[idx] & 0xff] = boundary.length - 1 - idx;
+        }
+        return shifts;
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.rq.multipart;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import lombok.EqualsAndHashCode;
+import org.takes.Request;
+
+/**
+ * Part of a multipart request, which can be saved to a file.
+ *
+ * <p>Parts made by {@link RqMtBase} are parts, for example:
+ *
+ * <pre> new Part.Smart(
+ *   new RqMtSmart(req).single("file")
+ * ).transferTo(Paths.get("/var/uploads/a.bin"));</pre>
+ *
+ * <p>A part saved to a temporary file is moved to the destination, so
+ * its bytes are not copied again when the destination is on the same
+ * file system. A part kept in memory is written to the destination at
+ * once.</p>
+ *
+ * @since 2.0
+ */
+public interface Part extends Request {
+
+    /**
+     * Save the body of the part to the file, replacing it, if it exists.
+     * The body of the part can't be read after that.
+     * @param target The file
+     * @throws IOException If fails
+     */
+    void transferTo(Path target) throws IOException;
+
+    /**
+     * Part made of any request.
+     *
+     * <p>If the request is a {@link Part}, it saves itself, otherwise
+     * its body is copied to the file.
+     *
+     * <p>The class is immutable and thread-safe.
+     *
+     * @since 2.0
+     */
+    @EqualsAndHashCode
+    final class Smart implements Part {
+
+        /**
+         * Original request.
+         */
+        private final Request origin;
+
+        /**
+         * Ctor.
+         * @param req Original request
+         */
+        public Smart(final Request req) {
+            this.origin = req;
+        }
+
+        @Override
+        public void transferTo(final Path target) throws IOException {
+            if (this.origin instanceof Part) {
+                ((Part) this.origin).transferTo(target);
+            } else {
+                try (InputStream body = this.origin.body()) {
+                    Files.copy(
+                        body, target, StandardCopyOption.REPLACE_EXISTING
+                    );
+                }
+            }
+        }
+
+        @Override
+        public Iterable<String> head() throws IOException {
+            return this.origin.head();
+        }
+
+        @Override
+        public InputStream body() throws IOException {
+            return this.origin.body();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.rq.multipart;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.EqualsAndHashCode;
+import org.takes.rq.RequestOf;
+import org.takes.rq.RqWithHeader;
+import org.takes.rq.RqWrap;
+import org.takes.rq.TempInputStream;
+
+/**
+ * Part with the body in a temporary file.
+ *
+ * <p>The file is deleted when the body is closed, or moved to the
+ * destination by {@link #transferTo(Path)}. Moving it within one file
+ * system is just renaming, otherwise it is copied and deleted.</p>
+ *
+ * <p>The file is opened only when the body is asked for, and closed
+ * before it is moved, since some file systems, like the one of Windows,
+ * can't move an open file.</p>
+ *
+ * <p>The class is thread-safe.
+ *
+ * @since 2.0
+ */
+@EqualsAndHashCode(callSuper = true, of = "file")
+final class PtFile extends RqWrap implements Part {
+
+    /**
+     * The file with the body.
+     */
+    private final File file;
+
+    /**
+     * Stream of the file, when it is opened.
+     */
+    private final AtomicReference<InputStream> stream;
+
+    /**
+     * Lock, which guards opening and closing of the file and doesn't pin
+     * virtual threads while they wait for the file system.
+     */
+    private final Lock lock;
+
+    /**
+     * Ctor.
+     * @param head Head of the part
+     * @param temp The file with the body, which will be deleted
+     * @param length Content length of the part
+     */
+    PtFile(final Iterable<String> head, final File temp, final long length) {
+        this(head, temp, length, new AtomicReference<>(), new ReentrantLock());
+    }
+
+    /**
+     * Ctor.
+     * @param head Head of the part
+     * @param temp The file with the body, which will be deleted
+     * @param length Content length of the part
+     * @param ref Stream of the file, when it is opened
+     * @param lck Lock of the stream
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private PtFile(final Iterable<String> head, final File temp,
+        final long length, final AtomicReference<InputStream> ref,
+        final Lock lck) {
+        super(
+            new RqWithHeader(
+                new RequestOf(
+                    () -> head,
+                    () -> new TempInputStream(
+                        PtFile.open(ref, lck, temp), temp
+                    )
+                ),
+                "Content-Length",
+                String.valueOf(length)
+            )
+        );
+        this.file = temp;
+        this.stream = ref;
+        this.lock = lck;
+    }
+
+    @Override
+    public void transferTo(final Path target) throws IOException {
+        this.lock.lock();
+        try {
+            final InputStream opened = this.stream.getAndSet(
+                PtFile.closed()
+            );
+            if (opened != null) {
+                opened.close();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        Files.move(
+            this.file.toPath(), target, StandardCopyOption.REPLACE_EXISTING
+        );
+    }
+
+    /**
+     * Open the file, if it is not opened yet.
+     * @param ref Stream of the file, when it is opened
+     * @param lck Lock of the stream
+     * @param temp The file
+     * @return Stream of the file
+     * @throws IOException If fails
+     */
+    private static InputStream open(final AtomicReference<InputStream> ref,
+        final Lock lck, final File temp) throws IOException {
+        lck.lock();
+        try {
+            if (ref.get() == null) {
+                ref.set(Files.newInputStream(temp.toPath()));
+            }
+            return ref.get();
+        } finally {
+            lck.unlock();
+        }
+    }
+
+    /**
+     * Stream, which is closed already.
+     * @return Stream
+     * @throws IOException If fails
+     */
+    private static InputStream closed() throws IOException {
+        final InputStream closed = Channels.newInputStream(
+            Channels.newChannel(new ByteArrayInputStream(new byte[0]))
+        );
+        closed.close();
+        return closed;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.rq.multipart;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import lombok.EqualsAndHashCode;
+import org.takes.rq.RequestOf;
+import org.takes.rq.RqWithHeader;
+import org.takes.rq.RqWrap;
+
+/**
+ * Part with the body in memory.
+ *
+ * <p>Like a part in a file, its body can't be read after it is closed,
+ * it throws {@link java.nio.channels.ClosedChannelException}.</p>
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.0
+ */
+@EqualsAndHashCode(callSuper = true)
+final class PtMemory extends RqWrap implements Part {
+
+    /**
+     * Bytes of the body.
+     */
+    private final byte[] bytes;
+
+    /**
+     * Number of bytes in the body.
+     */
+    private final int count;
+
+    /**
+     * Ctor.
+     * @param head Head of the part
+     * @param data Bytes of the body, which are not copied
+     * @param len Number of bytes in the body
+     * @param length Content length of the part
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    PtMemory(final Iterable<String> head, final byte[] data, final int len,
+        final long length) {
+        super(
+            new RqWithHeader(
+                new RequestOf(
+                    head,
+                    Channels.newInputStream(
+                        Channels.newChannel(
+                            new ByteArrayInputStream(data, 0, len)
+                        )
+                    )
+                ),
+                "Content-Length",
+                String.valueOf(length)
+            )
+        );
+        this.bytes = data;
+        this.count = len;
+    }
+
+    @Override
+    public void transferTo(final Path target) throws IOException {
+        try (OutputStream output = Files.newOutputStream(target)) {
+            output.write(this.bytes, 0, this.count);
+        }
+    }
+}
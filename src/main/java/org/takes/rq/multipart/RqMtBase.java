@@ -9,33 +9,23 @@ import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
-import java.nio.ByteBuffer;
-import java.nio.channels.Channels;
-import java.nio.channels.ReadableByteChannel;
-import java.nio.channels.WritableByteChannel;
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import org.cactoos.scalar.Unchecked;
 import org.cactoos.text.FormattedText;
 import org.cactoos.text.Lowered;
-import org.cactoos.text.StartsWith;
-import org.cactoos.text.TextOf;
 import org.cactoos.text.UncheckedText;
 import org.takes.HttpException;
 import org.takes.Request;
 import org.takes.misc.VerboseIterable;
 import org.takes.rq.RqHeaders;
-import org.takes.rq.RqLengthAware;
 import org.takes.rq.RqMultipart;
 
 /**
@@ -48,6 +38,15 @@ import org.takes.rq.RqMultipart;
  * <p>It is highly recommended to use {@link org.takes.rq.RqGreedy}
  * decorator before passing request to this class.
  *
+ * <p>Parts are kept in memory, if they are not bigger than the threshold
+ * and if the memory budget of the request allows, otherwise they are
+ * saved to temporary files. By default, the threshold is 16 KB and the
+ * budget is 1 MB. Parts are read with {@link RqMtStream}, which can be
+ * used directly to read them one by one without keeping them.
+ *
+ * <p>All parts are {@link Part}s, which can be moved to their
+ * destination files without copying them again.
+ *
  * <p>The class is immutable and thread-safe.
  *
  * @see <a href="http://www.w3.org/TR/html401/interact/forms.html">
@@ -58,18 +57,6 @@ import org.takes.rq.RqMultipart;
 @lombok.EqualsAndHashCode(of = "origin")
 @SuppressWarnings("PMD.ExcessiveImports")
 public final class RqMtBase implements RqMultipart {
-    /**
-     * The encoding used to create the request.
-     */
-    private static final Charset ENCODING = StandardCharsets.UTF_8;
-
-    /**
-     * Pattern to get boundary from header.
-     */
-    private static final Pattern BOUNDARY = Pattern.compile(
-        ".*[^a-z]boundary=([^;]+).*"
-    );
-
     /**
      * Pattern to get name from header.
      */
@@ -78,9 +65,14 @@ public final class RqMtBase implements RqMultipart {
     );
 
     /**
-     * Carriage return constant.
+     * Default maximum size of a part in memory, in bytes.
      */
-    private static final String CRLF = "\r\n";
+    private static final int THRESHOLD = 16 * 1024;
+
+    /**
+     * Default maximum size of all parts in memory, in bytes.
+     */
+    private static final long BUDGET = 1024L * 1024L;
 
     /**
      * Map of params and values.
@@ -88,19 +80,24 @@ public final class RqMtBase implements RqMultipart {
     private final Map<String, List<Request>> map;
 
     /**
-     * Internal buffer.
+     * Original request.
+     */
+    private final Request origin;
+
+    /**
+     * Maximum size of a part in memory, in bytes.
      */
-    private final ByteBuffer buffer;
+    private final int threshold;
 
     /**
-     * InputStream based on request body.
+     * Memory left for parts, in bytes.
      */
-    private final InputStream stream;
+    private final AtomicLong budget;
 
     /**
-     * Original request.
+     * Directory of temporary files, or NULL for the default one.
      */
-    private final Request origin;
+    private final File dir;
 
     /**
      * Ctor.
@@ -115,11 +112,38 @@ public final class RqMtBase implements RqMultipart {
      * @checkstyle ExecutableStatementCountCheck (2 lines)
      */
     public RqMtBase(final Request req) throws IOException {
+        this(req, RqMtBase.THRESHOLD, RqMtBase.BUDGET);
+    }
+
+    /**
+     * Ctor.
+     * @param req Original request
+     * @param max Maximum size of a part in memory, in bytes
+     * @param memory Maximum size of all parts in memory, in bytes
+     * @throws IOException If fails
+     * @since 2.0
+     */
+    public RqMtBase(final Request req, final int max, final long memory)
+        throws IOException {
+        this(req, max, memory, null);
+    }
+
+    /**
+     * Ctor.
+     * @param req Original request
+     * @param max Maximum size of a part in memory, in bytes
+     * @param memory Maximum size of all parts in memory, in bytes
+     * @param temp Directory of temporary files, or NULL for the default one
+     * @throws IOException If fails
+     * @since 2.0
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public RqMtBase(final Request req, final int max, final long memory,
+        final File temp) throws IOException {
         this.origin = req;
-        this.stream = new RqLengthAware(req).body();
-        this.buffer = ByteBuffer.allocate(
-            Math.min(8192, this.stream.available())
-        );
+        this.threshold = max;
+        this.budget = new AtomicLong(memory);
+        this.dir = temp;
         this.map = this.requests(req);
     }
 
@@ -169,99 +193,43 @@ public final class RqMtBase implements RqMultipart {
 
     /**
      * Build a request for each part of the origin request.
+     *
+     * <p>If the request is broken, the parts read so far are discarded,
+     * together with their temporary files.</p>
      * @param req Origin request
      * @return The requests map that use the part name as a map key
      * @throws IOException If fails
      */
-    @SuppressWarnings("PMD.CloseResource")
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
     private Map<String, List<Request>> requests(
         final Request req) throws IOException {
-        final String header = new RqHeaders.Smart(req).single("Content-Type");
-        final Unchecked<Boolean> multipart = new Unchecked<>(
-            new StartsWith(
-                new Lowered(header),
-                new TextOf("multipart/form-data")
-            )
-        );
-        if (!multipart.value()) {
-            throw new HttpException(
-                HttpURLConnection.HTTP_BAD_REQUEST,
-                String.format(
-                    "RqMtBase can only parse multipart/form-data, while Content-Type specifies a different type: \"%s\"",
-                    header
-                )
-            );
-        }
-        final Matcher matcher = RqMtBase.BOUNDARY.matcher(header);
-        if (!matcher.matches()) {
-            throw new HttpException(
-                HttpURLConnection.HTTP_BAD_REQUEST,
-                String.format(
-                    "boundary is not specified in Content-Type header: \"%s\"",
-                    header
-                )
-            );
-        }
-        final ReadableByteChannel body = Channels.newChannel(this.stream);
-        if (body.read(this.buffer) < 0) {
-            throw new HttpException(
-                HttpURLConnection.HTTP_BAD_REQUEST,
-                "failed to read the request body"
+        final Collection<SpillChannel> parts = new LinkedList<>();
+        try {
+            new RqMtStream(req).visit(
+                head -> {
+                    final SpillChannel part = new SpillChannel(
+                        head.head(), this.threshold, this.budget, this.dir
+                    );
+                    parts.add(part);
+                    return part;
+                }
             );
-        }
-        final byte[] boundary = String.format(
-            "%s--%s", RqMtBase.CRLF, matcher.group(1)
-        ).getBytes(RqMtBase.ENCODING);
-        this.buffer.flip();
-        this.buffer.position(boundary.length - 2);
-        final Collection<Request> requests = new LinkedList<>();
-        while (this.buffer.hasRemaining()) {
-            final byte data = this.buffer.get();
-            if (data == '-') {
-                break;
+            final Collection<Request> requests =
+                new ArrayList<>(parts.size());
+            for (final SpillChannel part : parts) {
+                requests.add(part.part());
             }
-            this.buffer.position(this.buffer.position() + 1);
-            requests.add(this.make(boundary, body));
-        }
-        return RqMtBase.asMap(requests);
-    }
-
-    /**
-     * Make a request.
-     *  Scans the origin request until the boundary reached. Caches
-     *  the  content into a temporary file and returns it as a new request.
-     * @param boundary Boundary
-     * @param body Origin request body
-     * @return Request
-     * @throws IOException If fails
-     */
-    private Request make(final byte[] boundary,
-        final ReadableByteChannel body) throws IOException {
-        final File file = File.createTempFile(
-            RqMultipart.class.getName(), ".tmp"
-        );
-        try (WritableByteChannel channel = Files.newByteChannel(
-            file.toPath(),
-            StandardOpenOption.READ,
-            StandardOpenOption.WRITE
-        )
-        ) {
-            channel.write(
-                ByteBuffer.wrap(
-                    this.head().iterator().next().getBytes(RqMtBase.ENCODING)
-                )
-            );
-            channel.write(
-                ByteBuffer.wrap(RqMtBase.CRLF.getBytes(RqMtBase.ENCODING))
-            );
-            new CopyBytesUntilBoundary(
-                channel,
-                boundary,
-                body,
-                this.buffer
-            ).copy();
+            return RqMtBase.asMap(requests);
+        } catch (final IOException | RuntimeException ex) {
+            for (final SpillChannel part : parts) {
+                try {
+                    part.discard();
+                } catch (final IOException err) {
+                    ex.addSuppressed(err);
+                }
+            }
+            throw ex;
         }
-        return new RqTemp(file);
     }
 
     /**
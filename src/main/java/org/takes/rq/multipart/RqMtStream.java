@@ -0,0 +1,370 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.rq.multipart;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.EqualsAndHashCode;
+import org.cactoos.scalar.Unchecked;
+import org.cactoos.text.Lowered;
+import org.cactoos.text.StartsWith;
+import org.cactoos.text.TextOf;
+import org.takes.HttpException;
+import org.takes.Request;
+import org.takes.rq.RequestOf;
+import org.takes.rq.RqHeaders;
+import org.takes.rq.RqLengthAware;
+import org.takes.rq.RqWrap;
+
+/**
+ * Request decorator, that decodes FORM data from
+ * {@code multipart/form-data} format (RFC 2045) part by part,
+ * while it is being read.
+ *
+ * <p>Unlike {@link RqMtBase}, it doesn't keep parts anywhere: every part
+ * is given to the visitor as soon as its headers are read, and the
+ * visitor says where its body must be written to, for example:
+ *
+ * <pre> new RqMtStream(req).visit(
+ *   part -&gt; FileChannel.open(
+ *     Paths.get("/tmp/upload"),
+ *     StandardOpenOption.CREATE, StandardOpenOption.WRITE
+ *   )
+ * );</pre>
+ *
+ * <p>The body is written while it is being read, with one buffer of
+ * up to 64 KB, so the size of the part doesn't matter. The visitor
+ * may throw an exception to stop reading at any part, or return
+ * {@link RqMtStream.Skip} to skip the body of the part.
+ * {@link RqMtBase} is a visitor, which keeps all parts.</p>
+ *
+ * <p>The body of the request can be visited only once. If it ends
+ * in the middle of part headers, or a part has headers longer than
+ * 64 KB, it is a "400 Bad Request". Headers of a part, which end right
+ * at the boundary, without a blank line, are taken as they are, and the
+ * part has no body.</p>
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.0
+ */
+@EqualsAndHashCode(callSuper = true)
+public final class RqMtStream extends RqWrap {
+
+    /**
+     * The encoding used to read headers.
+     */
+    private static final Charset ENCODING = StandardCharsets.UTF_8;
+
+    /**
+     * Pattern to get boundary from header.
+     */
+    private static final Pattern BOUNDARY = Pattern.compile(
+        ".*[^a-z]boundary=([^;]+).*"
+    );
+
+    /**
+     * Carriage return constant.
+     */
+    private static final String CRLF = "\r\n";
+
+    /**
+     * End of headers of a part.
+     */
+    private static final byte[] BLANK = "\r\n\r\n".getBytes(
+        RqMtStream.ENCODING
+    );
+
+    /**
+     * Maximum size of the buffer, in bytes.
+     */
+    private static final int SIZE = 64 * 1024;
+
+    /**
+     * Ctor.
+     * @param req Original request
+     */
+    public RqMtStream(final Request req) {
+        super(req);
+    }
+
+    /**
+     * Read all parts, one by one.
+     * @param visitor Visitor of parts
+     * @throws IOException If fails
+     */
+    @SuppressWarnings("PMD.CloseResource")
+    public void visit(final RqMtStream.Visitor visitor) throws IOException {
+        final byte[] boundary = String.format(
+            "%s--%s", RqMtStream.CRLF, this.boundary()
+        ).getBytes(RqMtStream.ENCODING);
+        final InputStream stream = new RqLengthAware(this).body();
+        final ByteBuffer buffer = ByteBuffer.allocate(
+            Math.max(boundary.length, this.capacity())
+        );
+        final ReadableByteChannel body = Channels.newChannel(stream);
+        if (body.read(buffer) < 0) {
+            throw new HttpException(
+                HttpURLConnection.HTTP_BAD_REQUEST,
+                "failed to read the request body"
+            );
+        }
+        final String line = this.head().iterator().next();
+        buffer.flip();
+        buffer.position(Math.min(boundary.length - 2, buffer.limit()));
+        while (RqMtStream.more(body, buffer)) {
+            RqMtStream.part(line, boundary, body, buffer, visitor);
+        }
+    }
+
+    /**
+     * Size of the buffer: the length of the body, if it is known and
+     * small, or the maximum size.
+     * @return Size in bytes
+     * @throws IOException If fails
+     */
+    private int capacity() throws IOException {
+        final String header = new RqHeaders.Smart(this)
+            .single("Content-Length", "");
+        int size = RqMtStream.SIZE;
+        if (!header.isEmpty()) {
+            try {
+                size = (int) Math.max(
+                    0L, Math.min(size, Long.parseLong(header.trim()))
+                );
+            } catch (final NumberFormatException ex) {
+                size = RqMtStream.SIZE;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Get boundary from Content-Type header.
+     * @return Boundary
+     * @throws IOException If fails
+     */
+    private String boundary() throws IOException {
+        final String header = new RqHeaders.Smart(this).single("Content-Type");
+        final Unchecked<Boolean> multipart = new Unchecked<>(
+            new StartsWith(
+                new Lowered(header),
+                new TextOf("multipart/form-data")
+            )
+        );
+        if (!multipart.value()) {
+            throw new HttpException(
+                HttpURLConnection.HTTP_BAD_REQUEST,
+                String.format(
+                    "only multipart/form-data can be parsed, while Content-Type specifies a different type: \"%s\"",
+                    header
+                )
+            );
+        }
+        final Matcher matcher = RqMtStream.BOUNDARY.matcher(header);
+        if (!matcher.matches()) {
+            throw new HttpException(
+                HttpURLConnection.HTTP_BAD_REQUEST,
+                String.format(
+                    "boundary is not specified in Content-Type header: \"%s\"",
+                    header
+                )
+            );
+        }
+        return matcher.group(1);
+    }
+
+    /**
+     * Is there one more part after the boundary?
+     * @param body Body of the original request
+     * @param buffer Buffer, right after the boundary
+     * @return FALSE if it is the closing boundary or the body is over
+     * @throws IOException If fails
+     */
+    private static boolean more(final ReadableByteChannel body,
+        final ByteBuffer buffer) throws IOException {
+        return RqMtStream.fill(body, buffer)
+            && buffer.get(buffer.position()) != '-';
+    }
+
+    /**
+     * Read a part and give it to the visitor.
+     *
+     * <p>Headers of the part usually end with a blank line, which is
+     * followed by the body. They may also end right at the boundary,
+     * then the part has no body.</p>
+     *
+     * @param line Request line of the original request
+     * @param boundary Boundary
+     * @param body Body of the original request
+     * @param buffer Buffer, at the line break before the headers
+     * @param visitor Visitor of parts
+     * @throws IOException If fails
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private static void part(final String line, final byte[] boundary,
+        final ReadableByteChannel body, final ByteBuffer buffer,
+        final RqMtStream.Visitor visitor) throws IOException {
+        byte[] bytes = new byte[256];
+        int size = 0;
+        boolean blank = false;
+        boolean closed = false;
+        while (!blank && !closed) {
+            if (size > RqMtStream.SIZE) {
+                throw new HttpException(
+                    HttpURLConnection.HTTP_BAD_REQUEST,
+                    String.format(
+                        "headers of a part are longer than %d bytes",
+                        RqMtStream.SIZE
+                    )
+                );
+            }
+            if (size == bytes.length) {
+                bytes = Arrays.copyOf(bytes, size << 1);
+            }
+            bytes[size] = RqMtStream.next(body, buffer);
+            buffer.get();
+            ++size;
+            blank = RqMtStream.ends(bytes, size, RqMtStream.BLANK);
+            closed = RqMtStream.ends(bytes, size, boundary);
+        }
+        if (closed) {
+            size -= boundary.length;
+        }
+        final List<String> head = new ArrayList<>(4);
+        head.add(line);
+        for (final String hdr
+            : new String(bytes, 0, size, RqMtStream.ENCODING)
+                .split(RqMtStream.CRLF)) {
+            if (!hdr.isEmpty()) {
+                head.add(hdr);
+            }
+        }
+        try (WritableByteChannel channel = visitor.part(
+            new RequestOf(head, new ByteArrayInputStream(new byte[0]))
+        )) {
+            if (blank) {
+                new CopyBytesUntilBoundary(
+                    channel, boundary, body, buffer
+                ).copy();
+            }
+        }
+    }
+
+    /**
+     * Do the bytes end with the tail?
+     * @param bytes Bytes
+     * @param size How many bytes are meaningful
+     * @param tail The tail
+     * @return TRUE if so
+     */
+    private static boolean ends(final byte[] bytes, final int size,
+        final byte[] tail) {
+        boolean ends = size >= tail.length;
+        for (int idx = 1; ends && idx <= tail.length; ++idx) {
+            ends = bytes[size - idx] == tail[tail.length - idx];
+        }
+        return ends;
+    }
+
+    /**
+     * Get the next byte of the body, without moving the buffer,
+     * reading more bytes into the buffer, if it is empty.
+     * @param body Body of the original request
+     * @param buffer Buffer
+     * @return The byte
+     * @throws IOException If the body is over
+     */
+    private static byte next(final ReadableByteChannel body,
+        final ByteBuffer buffer) throws IOException {
+        if (!RqMtStream.fill(body, buffer)) {
+            throw new HttpException(
+                HttpURLConnection.HTTP_BAD_REQUEST,
+                "multipart body is over in the middle of part headers"
+            );
+        }
+        return buffer.get(buffer.position());
+    }
+
+    /**
+     * Read more bytes into the buffer, if it is empty.
+     * @param body Body of the original request
+     * @param buffer Buffer
+     * @return FALSE if the buffer is empty and the body is over
+     * @throws IOException If fails
+     */
+    private static boolean fill(final ReadableByteChannel body,
+        final ByteBuffer buffer) throws IOException {
+        boolean more = true;
+        if (!buffer.hasRemaining()) {
+            buffer.clear();
+            int got = 0;
+            while (got == 0) {
+                got = body.read(buffer);
+            }
+            buffer.flip();
+            more = got > 0;
+        }
+        return more;
+    }
+
+    /**
+     * Visitor of parts.
+     *
+     * @since 2.0
+     */
+    public interface Visitor {
+
+        /**
+         * Take the part, when its headers are read.
+         * @param head The part, with the request line of the original
+         *  request and the headers of the part, but without the body
+         * @return Channel to write the body of the part to, which
+         *  will be closed after that
+         * @throws IOException If the part must not be read
+         */
+        WritableByteChannel part(Request head) throws IOException;
+    }
+
+    /**
+     * Channel that ignores everything written to it.
+     *
+     * <p>The class is immutable and thread-safe.
+     *
+     * @since 2.0
+     */
+    public static final class Skip implements WritableByteChannel {
+
+        @Override
+        public int write(final ByteBuffer src) {
+            final int len = src.remaining();
+            src.position(src.limit());
+            return len;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+            // nothing to close
+        }
+    }
+}
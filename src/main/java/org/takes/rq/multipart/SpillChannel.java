@@ -0,0 +1,208 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.rq.multipart;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import org.takes.rq.RqMultipart;
+
+/**
+ * Channel that keeps the body of one part in memory, until there are
+ * too many bytes, and then moves them to a temporary file.
+ *
+ * <p>Bytes stay in memory while there are no more than the threshold
+ * of them and while the memory budget of the whole request allows.
+ * The budget is shared by all parts of the request: memory taken by
+ * a part is given back when the part is moved to a file.</p>
+ *
+ * <p>The class is NOT thread-safe.
+ *
+ * @since 2.0
+ */
+final class SpillChannel implements WritableByteChannel {
+
+    /**
+     * Head of the part.
+     */
+    private final Iterable<String> head;
+
+    /**
+     * Maximum number of bytes in memory.
+     */
+    private final int threshold;
+
+    /**
+     * Memory left for all parts of the request, in bytes.
+     */
+    private final AtomicLong budget;
+
+    /**
+     * Directory of temporary files, or NULL for the default one.
+     */
+    private final File dir;
+
+    /**
+     * Bytes in memory.
+     */
+    private byte[] memory;
+
+    /**
+     * Number of bytes in memory.
+     */
+    private int count;
+
+    /**
+     * Temporary file, if the bytes are moved there.
+     */
+    private File file;
+
+    /**
+     * Channel of the temporary file.
+     */
+    private WritableByteChannel channel;
+
+    /**
+     * Is it open?
+     */
+    private boolean open;
+
+    /**
+     * Ctor.
+     * @param lines Head of the part
+     * @param max Maximum number of bytes in memory
+     * @param left Memory left for all parts of the request
+     * @param temp Directory of temporary files, or NULL for the default one
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    SpillChannel(final Iterable<String> lines, final int max,
+        final AtomicLong left, final File temp) {
+        this.head = lines;
+        this.threshold = max;
+        this.budget = left;
+        this.dir = temp;
+        this.memory = new byte[Math.min(max, 256)];
+        this.open = true;
+    }
+
+    @Override
+    public int write(final ByteBuffer src) throws IOException {
+        final int len = src.remaining();
+        if (this.channel == null && this.fits(len)) {
+            if (this.count + len > this.memory.length) {
+                this.memory = Arrays.copyOf(
+                    this.memory,
+                    Math.min(
+                        this.threshold,
+                        Math.max(this.memory.length << 1, this.count + len)
+                    )
+                );
+            }
+            src.get(this.memory, this.count, len);
+            this.count += len;
+            this.budget.addAndGet(-len);
+        } else {
+            if (this.channel == null) {
+                this.spill();
+            }
+            while (src.hasRemaining()) {
+                this.channel.write(src);
+            }
+        }
+        return len;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return this.open;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.open = false;
+        if (this.channel != null) {
+            this.channel.close();
+        }
+    }
+
+    /**
+     * Close the channel and delete its temporary file, if there is one,
+     * when the part is not needed anymore.
+     * @throws IOException If fails
+     */
+    void discard() throws IOException {
+        try {
+            this.close();
+        } finally {
+            if (this.file != null) {
+                Files.deleteIfExists(this.file.toPath());
+            }
+        }
+    }
+
+    /**
+     * Part made of the head and the bytes written, after the channel
+     * is closed.
+     *
+     * <p>Its "Content-Length" is the length of the whole part, with the
+     * head, as it is in the original request.
+     * @return Part
+     * @throws IOException If fails
+     */
+    Part part() throws IOException {
+        long length = 2L;
+        for (final String line : this.head) {
+            length += line.getBytes(StandardCharsets.UTF_8).length + 2L;
+        }
+        final Part part;
+        if (this.file == null) {
+            part = new PtMemory(
+                this.head, this.memory, this.count, length + this.count
+            );
+        } else {
+            part = new PtFile(
+                this.head, this.file, length + this.file.length()
+            );
+        }
+        return part;
+    }
+
+    /**
+     * Can these bytes be kept in memory?
+     * @param len Number of bytes
+     * @return TRUE if so
+     */
+    private boolean fits(final int len) {
+        return this.count + len <= this.threshold
+            && this.budget.get() >= len;
+    }
+
+    /**
+     * Move bytes from memory to a temporary file.
+     * @throws IOException If fails
+     */
+    private void spill() throws IOException {
+        this.file = File.createTempFile(
+            RqMultipart.class.getName(), ".tmp", this.dir
+        );
+        this.channel = Files.newByteChannel(
+            this.file.toPath(),
+            StandardOpenOption.WRITE
+        );
+        final ByteBuffer bytes = ByteBuffer.wrap(this.memory, 0, this.count);
+        while (bytes.hasRemaining()) {
+            this.channel.write(bytes);
+        }
+        this.budget.addAndGet(this.count);
+        this.memory = new byte[0];
+        this.count = 0;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.rs;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream, which encodes the original stream with chunked
+ * transfer coding.
+ *
+ * <p>Every chunk contains the bytes the original stream gives away in
+ * one read, but no more than {@link #SIZE}, so the encoding works
+ * with constant memory and the first chunk is ready as soon as the
+ * first bytes of the original stream are.</p>
+ *
+ * <p>The class is NOT thread-safe.
+ *
+ * @link <a href="https://tools.ietf.org/html/rfc7230#section-4.1">Chunked Transfer Coding</a>
+ * @since 2.0
+ */
+final class ChunkingInputStream extends InputStream {
+
+    /**
+     * Max size of a chunk.
+     */
+    private static final int SIZE = 8192;
+
+    /**
+     * Room for the size of a chunk in hex and CRLF, before its data.
+     */
+    private static final int PREFIX = 10;
+
+    /**
+     * The last chunk and the end of the body.
+     */
+    private static final byte[] LAST = {'0', '\r', '\n', '\r', '\n'};
+
+    /**
+     * Hex digits.
+     */
+    private static final byte[] HEX = {
+        '0', '1', '2', '3', '4', '5', '6', '7',
+        '8', '9', 'a', 'b', 'c', 'd', 'e', 'f',
+    };
+
+    /**
+     * Original stream.
+     */
+    private final InputStream origin;
+
+    /**
+     * Encoded chunk.
+     */
+    private byte[] chunk;
+
+    /**
+     * Position of the next byte in the chunk.
+     */
+    private int pos;
+
+    /**
+     * Position after the last byte in the chunk.
+     */
+    private int end;
+
+    /**
+     * Is the original stream over?
+     */
+    private boolean over;
+
+    /**
+     * Ctor.
+     * @param stream Original stream
+     */
+    ChunkingInputStream(final InputStream stream) {
+        super();
+        this.origin = stream;
+        this.chunk = new byte[
+            ChunkingInputStream.PREFIX + ChunkingInputStream.SIZE + 2
+        ];
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int data;
+        if (this.fill()) {
+            data = this.chunk[this.pos] & 0xFF;
+            ++this.pos;
+        } else {
+            data = -1;
+        }
+        return data;
+    }
+
+    @Override
+    public int read(final byte[] buf, final int off, final int len)
+        throws IOException {
+        final int seen;
+        if (len == 0) {
+            seen = 0;
+        } else if (this.fill()) {
+            seen = Math.min(len, this.end - this.pos);
+            System.arraycopy(this.chunk, this.pos, buf, off, seen);
+            this.pos += seen;
+        } else {
+            seen = -1;
+        }
+        return seen;
+    }
+
+    @Override
+    public int available() {
+        return this.end - this.pos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.origin.close();
+    }
+
+    /**
+     * Make sure there are bytes to read in the chunk.
+     * @return FALSE if the body is over
+     * @throws IOException If fails
+     */
+    private boolean fill() throws IOException {
+        while (this.pos == this.end && !this.over) {
+            final int seen = this.origin.read(
+                this.chunk, ChunkingInputStream.PREFIX, ChunkingInputStream.SIZE
+            );
+            if (seen < 0) {
+                this.over = true;
+                this.chunk = ChunkingInputStream.LAST;
+                this.pos = 0;
+                this.end = ChunkingInputStream.LAST.length;
+            } else if (seen > 0) {
+                this.encode(seen);
+            }
+        }
+        return this.pos < this.end;
+    }
+
+    /**
+     * Put the size of the chunk before its data and CRLF after it.
+     * @param size Size of the data
+     */
+    private void encode(final int size) {
+        int start = ChunkingInputStream.PREFIX - 2;
+        this.chunk[start] = '\r';
+        this.chunk[start + 1] = '\n';
+        int rest = size;
+        do {
+            --start;
+            this.chunk[start] = ChunkingInputStream.HEX[rest & 0xF];
+            rest >>>= 4;
+        } while (rest > 0);
+        this.end = ChunkingInputStream.PREFIX + size;
+        this.chunk[this.end] = '\r';
+        this.chunk[this.end + 1] = '\n';
+        this.end += 2;
+        this.pos = start;
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.rs;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Input stream, which compresses the original stream with GZIP,
+ * according to RFC 1952.
+ *
+ * <p>The original stream is compressed while it is being read, with
+ * a buffer of constant size, so the compressed bytes are ready before
+ * the end of the original stream is reached.</p>
+ *
+ * <p>The class is NOT thread-safe.
+ *
+ * @since 2.0
+ */
+final class GzippingInputStream extends InputStream {
+
+    /**
+     * Header of GZIP member: magic, deflate method, no flags,
+     * no time, no extra flags, unknown OS.
+     */
+    private static final byte[] HEADER = {
+        (byte) 0x1f, (byte) 0x8b, (byte) Deflater.DEFLATED,
+        0, 0, 0, 0, 0, 0, (byte) 0xff,
+    };
+
+    /**
+     * Size of buffers.
+     */
+    private static final int SIZE = 8192;
+
+    /**
+     * Original stream.
+     */
+    private final InputStream origin;
+
+    /**
+     * Deflater.
+     */
+    private final Deflater deflater;
+
+    /**
+     * Checksum of the original bytes.
+     */
+    private final CRC32 crc;
+
+    /**
+     * Bytes read from the original stream.
+     */
+    private final byte[] input;
+
+    /**
+     * Compressed bytes, ready to be read.
+     */
+    private final byte[] output;
+
+    /**
+     * Position of the next byte in the output.
+     */
+    private int pos;
+
+    /**
+     * Position after the last byte in the output.
+     */
+    private int end;
+
+    /**
+     * Is the trailer ready?
+     */
+    private boolean over;
+
+    /**
+     * Ctor.
+     * @param stream Original stream
+     * @param level Compression level, from 0 to 9
+     */
+    GzippingInputStream(final InputStream stream, final int level) {
+        super();
+        this.origin = stream;
+        this.deflater = new Deflater(level, true);
+        this.crc = new CRC32();
+        this.input = new byte[GzippingInputStream.SIZE];
+        this.output = new byte[GzippingInputStream.SIZE];
+        System.arraycopy(
+            GzippingInputStream.HEADER, 0, this.output, 0,
+            GzippingInputStream.HEADER.length
+        );
+        this.end = GzippingInputStream.HEADER.length;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int data;
+        if (this.fill()) {
+            data = this.output[this.pos] & 0xFF;
+            ++this.pos;
+        } else {
+            data = -1;
+        }
+        return data;
+    }
+
+    @Override
+    public int read(final byte[] buf, final int off, final int len)
+        throws IOException {
+        final int seen;
+        if (len == 0) {
+            seen = 0;
+        } else if (this.fill()) {
+            seen = Math.min(len, this.end - this.pos);
+            System.arraycopy(this.output, this.pos, buf, off, seen);
+            this.pos += seen;
+        } else {
+            seen = -1;
+        }
+        return seen;
+    }
+
+    @Override
+    public int available() {
+        return this.end - this.pos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.deflater.end();
+        this.origin.close();
+    }
+
+    /**
+     * Make sure there are bytes to read in the output.
+     * @return FALSE if the stream is over
+     * @throws IOException If fails
+     */
+    private boolean fill() throws IOException {
+        while (this.pos == this.end && !this.over) {
+            if (this.deflater.finished()) {
+                this.trailer();
+            } else {
+                if (this.deflater.needsInput()) {
+                    this.feed();
+                }
+                this.pos = 0;
+                this.end = this.deflater.deflate(this.output);
+            }
+        }
+        return this.pos < this.end;
+    }
+
+    /**
+     * Give the deflater the next bytes of the original stream.
+     * @throws IOException If fails
+     */
+    private void feed() throws IOException {
+        final int seen = this.origin.read(this.input);
+        if (seen < 0) {
+            this.deflater.finish();
+        } else {
+            this.crc.update(this.input, 0, seen);
+            this.deflater.setInput(this.input, 0, seen);
+        }
+    }
+
+    /**
+     * Put the trailer into the output: checksum and size of
+     * the original bytes, both little-endian.
+     */
+    private void trailer() {
+        final long sum = this.crc.getValue();
+        final long size = this.deflater.getBytesRead();
+        for (int idx = 0; idx < 4; ++idx) {
+            this.output[idx] = (byte) (sum >>> (idx << 3));
+            this.output[idx + 4] = (byte) (size >>> (idx << 3));
+        }
+        this.pos = 0;
+        this.end = 8;
+        this.over = true;
+        this.deflater.end();
+    }
+}
@@ -6,13 +6,17 @@ package org.takes.rs;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import org.cactoos.Input;
 import org.cactoos.io.InputOf;
 import org.cactoos.scalar.IoChecked;
@@ -39,7 +43,7 @@ interface RsBody extends Input {
      * @throws IOException in case the length of the stream could not be
      *  retrieved.
      */
-    int length() throws IOException;
+    long length() throws IOException;
 
     /**
      * Content of a body based on an {@link java.net.URL}.
@@ -66,7 +70,7 @@ interface RsBody extends Input {
         }
 
         @Override
-        public int length() throws IOException {
+        public long length() throws IOException {
             try (InputStream input = this.source.openStream()) {
                 return input.available();
             }
@@ -98,8 +102,8 @@ interface RsBody extends Input {
         }
 
         @Override
-        public int length() {
-            return this.bytes.length;
+        public long length() {
+            return (long) this.bytes.length;
         }
     }
 
@@ -135,9 +139,9 @@ interface RsBody extends Input {
         }
 
         @Override
-        public int length() throws IOException {
+        public long length() throws IOException {
             this.estimate();
-            return this.length.get();
+            return (long) this.length.get();
         }
 
         /**
@@ -151,6 +155,41 @@ interface RsBody extends Input {
         }
     }
 
+    /**
+     * Content of a body based on a file.
+     *
+     * <p>The stream of the body is a {@link java.io.FileInputStream},
+     * which {@link org.takes.http.BkBasic} sends to the socket without
+     * copying it through the heap.</p>
+     *
+     * @since 2.0
+     */
+    final class Disk implements RsBody {
+
+        /**
+         * The file.
+         */
+        private final Path path;
+
+        /**
+         * Constructs a {@code Disk} with the specified file.
+         * @param file The file
+         */
+        Disk(final Path file) {
+            this.path = file;
+        }
+
+        @Override
+        public InputStream stream() throws IOException {
+            return new FileInputStream(this.path.toFile());
+        }
+
+        @Override
+        public long length() throws IOException {
+            return Files.size(this.path);
+        }
+    }
+
     /**
      * Decorator that will store the content of the underlying Body into a
      * temporary File.
@@ -174,6 +213,12 @@ interface RsBody extends Input {
          */
         private final RsBody body;
 
+        /**
+         * Lock, which guards creation of the file and doesn't pin
+         * virtual threads while the body is being copied.
+         */
+        private final Lock lock;
+
         /**
          * Constructs a {@code TempFile} with the specified {@link RsBody}.
          * @param content The content of the body to store into a temporary file.
@@ -181,6 +226,7 @@ interface RsBody extends Input {
         @SuppressWarnings("PMD.ConstructorOnlyInitializesOrCallOtherConstructors")
         TempFile(final RsBody content) {
             this.body = content;
+            this.lock = new ReentrantLock();
             this.file = new File(
                 System.getProperty("java.io.tmpdir"),
                 String.format(
@@ -202,8 +248,8 @@ interface RsBody extends Input {
         }
 
         @Override
-        public int length() throws IOException {
-            return (int) this.file().length();
+        public long length() throws IOException {
+            return this.file().length();
         }
 
         /**
@@ -215,7 +261,8 @@ interface RsBody extends Input {
          *  {@code Body} could not be stored into the file.
          */
         private File file() throws IOException {
-            synchronized (this.file) {
+            this.lock.lock();
+            try {
                 if (!this.file.exists()) {
                     this.file.deleteOnExit();
                     try (InputStream content = this.body.stream()) {
@@ -226,8 +273,10 @@ interface RsBody extends Input {
                         );
                     }
                 }
-                return this.file;
+            } finally {
+                this.lock.unlock();
             }
+            return this.file;
         }
     }
 }
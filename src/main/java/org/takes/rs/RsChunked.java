@@ -0,0 +1,59 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.rs;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.takes.Response;
+
+/**
+ * Response decorator, which sends the body in chunks.
+ *
+ * <p>Use it when the length of the body is not known in advance, for
+ * example when the body is generated on the fly. The body is not
+ * buffered: the chunks go to the client as soon as the original body
+ * gives them away, while {@code Transfer-Encoding: chunked} lets the
+ * client find the end of the body without closing the connection:</p>
+ *
+ * <pre> new RsChunked(new RsWithBody(stream))</pre>
+ *
+ * <p>{@link org.takes.http.BkBasic} does it automatically for all
+ * responses without {@code Content-Length}, if the client
+ * speaks HTTP/1.1.</p>
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @link <a href="https://tools.ietf.org/html/rfc7230#section-4.1">Chunked Transfer Coding</a>
+ * @since 2.0
+ */
+@ToString(callSuper = true)
+@EqualsAndHashCode(callSuper = true)
+public final class RsChunked extends RsWrap {
+
+    /**
+     * Transfer encoding header.
+     */
+    private static final String HEADER = "Transfer-Encoding";
+
+    /**
+     * Ctor.
+     * @param res Original response
+     */
+    public RsChunked(final Response res) {
+        super(
+            new ResponseOf(
+                () -> new RsWithHeader(
+                    new RsWithoutHeader(
+                        new RsWithoutHeader(res, "Content-Length"),
+                        RsChunked.HEADER
+                    ),
+                    RsChunked.HEADER,
+                    "chunked"
+                ).head(),
+                () -> new ChunkingInputStream(res.body())
+            )
+        );
+    }
+}
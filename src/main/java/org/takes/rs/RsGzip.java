@@ -4,13 +4,15 @@
  */
 package org.takes.rs;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.zip.GZIPOutputStream;
+import java.util.zip.Deflater;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import org.takes.Response;
@@ -18,6 +20,19 @@ import org.takes.Response;
 /**
  * Response compressed with GZIP, according to RFC 1952.
  *
+ * <p>The body is compressed while it is being sent, without buffering
+ * it, so the response has no {@code Content-Length} and
+ * {@link org.takes.http.BkBasic} sends it in chunks, see
+ * {@link RsChunked}.</p>
+ *
+ * <p>The response is not compressed if it already has
+ * {@code Content-Encoding}, or its {@code Content-Type} is compressed
+ * anyway (images, audio, video, archives, fonts), or its
+ * {@code Content-Length} is smaller than the given minimum, since
+ * the compression would only make it bigger and slower:</p>
+ *
+ * <pre> new RsGzip(response, Deflater.BEST_SPEED, 1024L)</pre>
+ *
  * <p>The class is immutable and thread-safe.
  *
  * @since 0.10
@@ -26,13 +41,40 @@ import org.takes.Response;
 @EqualsAndHashCode
 public final class RsGzip implements Response {
 
+    /**
+     * Content types, which are compressed already.
+     */
+    private static final Collection<String> COMPRESSED = new HashSet<>(
+        Arrays.asList(
+            "application/gzip",
+            "application/x-gzip",
+            "application/zip",
+            "application/x-bzip2",
+            "application/x-7z-compressed",
+            "application/x-rar-compressed",
+            "application/x-xz",
+            "application/zstd",
+            "application/pdf"
+        )
+    );
+
     /**
      * Original response.
      */
     private final Response origin;
 
     /**
-     * Compressed and cached response.
+     * Compression level.
+     */
+    private final int level;
+
+    /**
+     * Min length of body to compress.
+     */
+    private final long min;
+
+    /**
+     * Compressed response, made once.
      */
     private final List<Response> zipped;
 
@@ -41,8 +83,21 @@ public final class RsGzip implements Response {
      * @param res Original response
      */
     public RsGzip(final Response res) {
+        this(res, Deflater.DEFAULT_COMPRESSION, 0L);
+    }
+
+    /**
+     * Ctor.
+     * @param res Original response
+     * @param lvl Compression level, from 0 to 9, see {@link Deflater}
+     * @param size Min length of body to compress, in bytes
+     * @since 2.0
+     */
+    public RsGzip(final Response res, final int lvl, final long size) {
         this.zipped = new CopyOnWriteArrayList<>();
         this.origin = res;
+        this.level = lvl;
+        this.min = size;
     }
 
     @Override
@@ -62,43 +117,70 @@ public final class RsGzip implements Response {
      */
     private Response make() throws IOException {
         if (this.zipped.isEmpty()) {
-            this.zipped.add(
-                new RsWithHeader(
-                    new RsWithBody(
-                        this.origin,
-                        RsGzip.gzip(this.origin.body())
+            final Response res;
+            if (this.compressible()) {
+                res = new RsWithHeader(
+                    new ResponseOf(
+                        () -> new RsWithoutHeader(
+                            this.origin, "Content-Length"
+                        ).head(),
+                        () -> new GzippingInputStream(
+                            this.origin.body(), this.level
+                        )
                     ),
                     "Content-Encoding",
                     "gzip"
-                )
-            );
+                );
+            } else {
+                res = this.origin;
+            }
+            this.zipped.add(res);
         }
         return this.zipped.get(0);
     }
 
     /**
-     * Gzip input stream.
-     * @param input Input stream
-     * @return New input stream
+     * Is it worth compressing?
+     * @return TRUE if so
      * @throws IOException If fails
      */
-    private static byte[] gzip(final InputStream input)
-        throws IOException {
-        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        final byte[] buf = new byte[4096];
-        try (
-            InputStream stream = input;
-            OutputStream gzip = new GZIPOutputStream(baos)
-        ) {
-            while (true) {
-                final int len = stream.read(buf);
-                if (len < 0) {
-                    break;
-                }
-                gzip.write(buf, 0, len);
-            }
+    private boolean compressible() throws IOException {
+        final RsHeaders.Smart headers = new RsHeaders.Smart(this.origin);
+        final String length = headers.single("Content-Length", "");
+        final String type = headers.single("Content-Type", "")
+            .split(";", 2)[0].trim().toLowerCase(Locale.ENGLISH);
+        return headers.header("Content-Encoding").isEmpty()
+            && !RsGzip.packed(type)
+            && this.large(length);
+    }
+
+    /**
+     * Is the body large enough, or of unknown length?
+     * @param length Content-Length header, maybe empty or broken
+     * @return TRUE if so
+     */
+    private boolean large(final String length) {
+        boolean large;
+        try {
+            large = length.isEmpty()
+                || Long.parseLong(length.trim()) >= this.min;
+        } catch (final NumberFormatException ex) {
+            large = true;
         }
-        return baos.toByteArray();
+        return large;
+    }
+
+    /**
+     * Is the content of this type compressed already?
+     * @param type Content type, in lower case, without parameters
+     * @return TRUE if so
+     */
+    private static boolean packed(final String type) {
+        return RsGzip.COMPRESSED.contains(type)
+            || type.startsWith("image/") && !"image/svg+xml".equals(type)
+            || type.startsWith("audio/")
+            || type.startsWith("video/")
+            || type.startsWith("font/");
     }
 
 }
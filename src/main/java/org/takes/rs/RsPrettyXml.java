@@ -10,6 +10,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
@@ -57,9 +59,10 @@ public final class RsPrettyXml implements Response {
     private final List<Response> transformed;
 
     /**
-     * Synchronization lock.
+     * Synchronization lock, which doesn't pin virtual threads while
+     * the body is being read.
      */
-    private final Object lock;
+    private final Lock lock;
 
     /**
      * Ctor.
@@ -68,7 +71,7 @@ public final class RsPrettyXml implements Response {
     public RsPrettyXml(final Response res) {
         this.transformed = new CopyOnWriteArrayList<>();
         this.origin = res;
-        this.lock = new Object();
+        this.lock = new ReentrantLock();
     }
 
     @Override
@@ -113,7 +116,8 @@ public final class RsPrettyXml implements Response {
      * @throws IOException If fails
      */
     private Response make() throws IOException {
-        synchronized (this.lock) {
+        this.lock.lock();
+        try {
             if (this.transformed.isEmpty()) {
                 this.transformed.add(
                     new RsWithBody(
@@ -122,6 +126,8 @@ public final class RsPrettyXml implements Response {
                     )
                 );
             }
+        } finally {
+            this.lock.unlock();
         }
         return this.transformed.get(0);
     }
@@ -8,10 +8,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
 import java.nio.charset.StandardCharsets;
-import java.util.regex.Pattern;
+import java.util.Arrays;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import org.cactoos.Text;
@@ -29,18 +27,19 @@ import org.takes.Response;
 public final class RsPrint extends RsWrap implements Text {
 
     /**
-     * Pattern for first line.
+     * Format of the first line, as a regular expression.
      */
-    private static final Pattern FIRST = Pattern.compile(
-        "HTTP/1\\.1 \\d{3} [a-zA-Z- ]+"
-    );
+    private static final String FIRST = "HTTP/1\\.1 \\d{3} [a-zA-Z- ]+";
 
     /**
-     * Pattern for all other lines in the head.
+     * Format of all other lines in the head, as a regular expression.
      */
-    private static final Pattern OTHERS = Pattern.compile(
-        "[a-zA-Z0-9\\-]+:\\p{Print}+"
-    );
+    private static final String OTHERS = "[a-zA-Z0-9\\-]+:\\p{Print}+";
+
+    /**
+     * Prefix of the first line.
+     */
+    private static final String PREFIX = "HTTP/1.1 ";
 
     /**
      * Ctor.
@@ -101,17 +100,21 @@ public final class RsPrint extends RsWrap implements Text {
 
     /**
      * Print it into output stream.
+     *
+     * <p>The lines are validated and encoded into one array of bytes,
+     * which is written to the output at once. The output is not flushed,
+     * so that a small body gets into the same buffer.</p>
+     *
      * @param output Output to print into
      * @throws IOException If fails
      * @since 0.10
      */
     public void printHead(final OutputStream output) throws IOException {
-        final String eol = "\r\n";
-        final Writer writer =
-            new OutputStreamWriter(output, StandardCharsets.UTF_8);
+        byte[] buf = new byte[256];
+        int len = 0;
         int pos = 0;
         for (final String line : this.head()) {
-            if (pos == 0 && !RsPrint.FIRST.matcher(line).matches()) {
+            if (pos == 0 && !RsPrint.first(line)) {
                 throw new IllegalArgumentException(
                     String.format(
                         "First line of HTTP response \"%s\" doesn't match \"%s\" regular expression, but it should, according to RFC 7230",
@@ -119,7 +122,7 @@ public final class RsPrint extends RsWrap implements Text {
                     )
                 );
             }
-            if (pos > 0 && !RsPrint.OTHERS.matcher(line).matches()) {
+            if (pos > 0 && !RsPrint.other(line)) {
                 throw new IllegalArgumentException(
                     String.format(
                         "Header line #%d of HTTP response \"%s\" doesn't match \"%s\" regular expression, but it should, according to RFC 7230",
@@ -127,12 +130,22 @@ public final class RsPrint extends RsWrap implements Text {
                     )
                 );
             }
-            writer.append(line);
-            writer.append(eol);
+            final int size = line.length();
+            if (len + size + 4 > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length << 1, len + size + 4));
+            }
+            for (int idx = 0; idx < size; ++idx) {
+                buf[len + idx] = (byte) line.charAt(idx);
+            }
+            len += size;
+            buf[len] = '\r';
+            buf[len + 1] = '\n';
+            len += 2;
             ++pos;
         }
-        writer.append(eol);
-        writer.flush();
+        buf[len] = '\r';
+        buf[len + 1] = '\n';
+        output.write(buf, 0, len + 2);
     }
 
     /**
@@ -152,4 +165,61 @@ public final class RsPrint extends RsWrap implements Text {
             }
         }
     }
+
+    /**
+     * Does the first line match {@link #FIRST}?
+     * @param line The line
+     * @return TRUE if so
+     */
+    private static boolean first(final String line) {
+        final int len = line.length();
+        boolean valid = len > 13 && line.startsWith(RsPrint.PREFIX)
+            && RsPrint.digit(line.charAt(9))
+            && RsPrint.digit(line.charAt(10))
+            && RsPrint.digit(line.charAt(11))
+            && line.charAt(12) == ' ';
+        for (int idx = 13; valid && idx < len; ++idx) {
+            final char chr = line.charAt(idx);
+            valid = RsPrint.letter(chr) || chr == '-' || chr == ' ';
+        }
+        return valid;
+    }
+
+    /**
+     * Does the header line match {@link #OTHERS}?
+     * @param line The line
+     * @return TRUE if so
+     */
+    private static boolean other(final String line) {
+        final int len = line.length();
+        final int colon = line.indexOf(':');
+        boolean valid = colon > 0 && colon < len - 1;
+        for (int idx = 0; valid && idx < colon; ++idx) {
+            final char chr = line.charAt(idx);
+            valid = RsPrint.letter(chr) || RsPrint.digit(chr) || chr == '-';
+        }
+        for (int idx = colon + 1; valid && idx < len; ++idx) {
+            final char chr = line.charAt(idx);
+            valid = chr >= ' ' && chr <= '~';
+        }
+        return valid;
+    }
+
+    /**
+     * Is it an ASCII letter?
+     * @param chr The char
+     * @return TRUE if so
+     */
+    private static boolean letter(final char chr) {
+        return chr >= 'a' && chr <= 'z' || chr >= 'A' && chr <= 'Z';
+    }
+
+    /**
+     * Is it an ASCII digit?
+     * @param chr The char
+     * @return TRUE if so
+     */
+    private static boolean digit(final char chr) {
+        return chr >= '0' && chr <= '9';
+    }
 }
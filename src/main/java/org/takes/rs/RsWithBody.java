@@ -8,6 +8,7 @@ import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import org.cactoos.bytes.BytesOf;
@@ -64,6 +65,16 @@ public final class RsWithBody extends RsWrap {
         this(new RsWithStatus(HttpURLConnection.HTTP_OK), url);
     }
 
+    /**
+     * Constructs a {@code RsWithBody} with the content of the file
+     * as body.
+     * @param file The file
+     * @since 2.0
+     */
+    public RsWithBody(final Path file) {
+        this(new RsWithStatus(HttpURLConnection.HTTP_OK), file);
+    }
+
     /**
      * Constructs a {@code RsWithBody} with the specified response and body. The
      * body will be encoded into UTF-8 by default.
@@ -113,6 +124,18 @@ public final class RsWithBody extends RsWrap {
         this(res, new RsBody.Stream(body));
     }
 
+    /**
+     * Constructs a {@code RsWithBody} with the specified response and
+     * the content of the file as body. The {@code Content-Length} is
+     * exactly the size of the file, even if it's bigger than 2Gb.
+     * @param res Original response
+     * @param file The file
+     * @since 2.0
+     */
+    public RsWithBody(final Response res, final Path file) {
+        this(res, new RsBody.Disk(file));
+    }
+
     /**
      * Constructs a {@code RsWithBody} with the specified response and body
      * content.
@@ -127,7 +150,7 @@ public final class RsWithBody extends RsWrap {
                     return new RsWithHeader(
                         new RsWithoutHeader(res, header),
                         header,
-                        Integer.toString(body.length())
+                        Long.toString(body.length())
                     ).head();
                 },
                 body::stream
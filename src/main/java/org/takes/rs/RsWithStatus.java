@@ -6,19 +6,13 @@ package org.takes.rs;
 
 import java.io.IOException;
 import java.net.HttpURLConnection;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
-import org.cactoos.Text;
-import org.cactoos.iterable.Filtered;
-import org.cactoos.iterable.Joined;
-import org.cactoos.iterable.Mapped;
-import org.cactoos.scalar.Not;
-import org.cactoos.text.FormattedText;
-import org.cactoos.text.StartsWith;
-import org.cactoos.text.TextOf;
 import org.takes.Response;
 
 /**
@@ -73,6 +67,10 @@ public final class RsWithStatus extends RsWrap {
 
     /**
      * Make head.
+     *
+     * <p>The status line is built right away, without formatting,
+     * since it's needed for every response.</p>
+     *
      * @param origin Original response
      * @param status Status
      * @param reason Reason
@@ -89,23 +87,21 @@ public final class RsWithStatus extends RsWrap {
                 )
             );
         }
-        return new Mapped<>(
-            Text::asString,
-            new Joined<>(
-                new FormattedText(
-                    "HTTP/1.1 %d %s", status, reason
-                ),
-                new Mapped<>(
-                    TextOf::new,
-                    new Filtered<>(
-                        item -> new Not(
-                            new StartsWith(item, "HTTP/")
-                        ).value(),
-                        origin.head()
-                    )
-                )
-            )
+        final List<String> head = new ArrayList<>(8);
+        head.add(
+            new StringBuilder(reason.length() + 13)
+                .append("HTTP/1.1 ")
+                .append(status)
+                .append(' ')
+                .append(reason)
+                .toString()
         );
+        for (final String line : origin.head()) {
+            if (!line.startsWith("HTTP/")) {
+                head.add(line);
+            }
+        }
+        return head;
     }
 
     /**
@@ -5,8 +5,14 @@
 package org.takes.tk;
 
 import java.net.HttpURLConnection;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
@@ -14,6 +20,8 @@ import org.takes.Request;
 import org.takes.Response;
 import org.takes.Take;
 import org.takes.rq.RqHeaders;
+import org.takes.rq.RqMethod;
+import org.takes.rs.RsEmpty;
 import org.takes.rs.RsWithHeaders;
 import org.takes.rs.RsWithStatus;
 
@@ -23,6 +31,25 @@ import org.takes.rs.RsWithStatus;
  * <p>This take checks if the request (Origin) is allowed to perform
  * the desired action against the list of the given domains.
  *
+ * <p>A domain may be "*", which allows any origin, or may have "*"
+ * instead of its subdomains, for example "https://*.example.com",
+ * which allows "https://a.example.com" and "https://a.b.example.com",
+ * but not "https://example.com". Origins are found in a hash set, by
+ * themselves and then by every parent domain, so the number of domains
+ * doesn't matter. An origin allowed only by "*" gets a literal "*"
+ * in "Access-Control-Allow-Origin" and no credentials, as the
+ * specification requires; other origins are given back with
+ * credentials allowed. Every response has "Vary: Origin", so that
+ * caches don't give it to other origins.</p>
+ *
+ * <p>Preflight requests, which are "OPTIONS" requests with the
+ * "Access-Control-Request-Method" header, are answered right here,
+ * without the original take, with "Access-Control-Max-Age", so that
+ * browsers don't repeat them. Only the request headers given to the
+ * constructor are allowed in "Access-Control-Allow-Headers"; the ones
+ * the client asks for are not given back. Headers of responses to the
+ * given domains are made once, in the constructor.</p>
+ *
  * <p>The specification of CORS can be found on the W3C web site on the
  * following <a href="http://www.w3.org/TR/cors/">link</a> or even on the <a
  * href="https://tools.ietf.org/html/rfc6454">RFC-6454</a> specification.
@@ -30,9 +57,36 @@ import org.takes.rs.RsWithStatus;
  * @since 0.20
  */
 @ToString(of = { "origin", "allowed" })
-@EqualsAndHashCode
+@EqualsAndHashCode(of = { "origin", "allowed", "age", "names" })
 public final class TkCors implements Take {
 
+    /**
+     * Default max age of preflight responses, in seconds.
+     */
+    private static final long AGE = 86_400L;
+
+    /**
+     * Header with credentials allowed.
+     */
+    private static final String CREDENTIALS =
+        "Access-Control-Allow-Credentials: true";
+
+    /**
+     * Header with methods allowed.
+     */
+    private static final String METHODS =
+        "Access-Control-Allow-Methods: OPTIONS, GET, PUT, POST, DELETE, HEAD";
+
+    /**
+     * Header with the origin as the key of caches.
+     */
+    private static final String VARY = "Vary: Origin";
+
+    /**
+     * Wildcard.
+     */
+    private static final String ANY = "*";
+
     /**
      * Original take.
      */
@@ -43,38 +97,185 @@ public final class TkCors implements Take {
      */
     private final Set<String> allowed;
 
+    /**
+     * Max age of preflight responses, in seconds.
+     */
+    private final long age;
+
+    /**
+     * Request headers allowed, separated by commas, maybe empty.
+     */
+    private final String names;
+
+    /**
+     * Headers of responses, by the given domains without wildcards.
+     */
+    private final Map<String, Iterable<String>> headers;
+
+    /**
+     * Responses to preflight requests, by the given domains without
+     * wildcards.
+     */
+    private final Map<String, Response> preflights;
+
     /**
      * Ctor.
      * @param take Original
      * @param domains Allow domains
      */
     public TkCors(final Take take, final String... domains) {
+        this(take, TkCors.AGE, domains);
+    }
+
+    /**
+     * Ctor.
+     * @param take Original
+     * @param seconds Max age of preflight responses, in seconds
+     * @param domains Allow domains
+     * @since 2.0
+     */
+    public TkCors(final Take take, final long seconds,
+        final String... domains) {
+        this(take, seconds, Collections.emptyList(), domains);
+    }
+
+    /**
+     * Ctor.
+     * @param take Original
+     * @param seconds Max age of preflight responses, in seconds
+     * @param hdrs Request headers allowed in preflight responses
+     * @param domains Allow domains
+     * @since 2.0
+     */
+    public TkCors(final Take take, final long seconds,
+        final Iterable<String> hdrs, final String... domains) {
         this.origin = take;
         this.allowed = new HashSet<>(Arrays.asList(domains));
+        this.age = seconds;
+        this.names = String.join(", ", hdrs);
+        this.headers = new HashMap<>(domains.length);
+        this.preflights = new HashMap<>(domains.length);
+        for (final String domain : this.allowed) {
+            if (TkCors.ANY.equals(domain) || !domain.contains(TkCors.ANY)) {
+                this.headers.put(domain, this.allow(domain));
+                this.preflights.put(domain, this.answer(domain));
+            }
+        }
     }
 
     @Override
     public Response act(final Request req) throws Exception {
         final Response response;
-        final String domain = new RqHeaders.Smart(req).single("origin", "");
-        if (this.allowed.contains(domain)) {
-            response = new RsWithHeaders(
-                this.origin.act(req),
-                "Access-Control-Allow-Credentials: true",
-                "Access-Control-Allow-Methods: OPTIONS, GET, PUT, POST, DELETE, HEAD",
-                String.format(
-                    "Access-Control-Allow-Origin: %s",
-                    domain
-                )
-            );
+        final RqHeaders.Smart hdrs = new RqHeaders.Smart(req);
+        final String domain = this.allowed(hdrs.single("origin", ""));
+        if (!domain.isEmpty()) {
+            final Iterator<String> asked = hdrs
+                .header("access-control-request-method").iterator();
+            if (asked.hasNext()
+                && RqMethod.OPTIONS.equals(new RqMethod.Base(req).method())) {
+                response = this.preflight(domain);
+            } else {
+                Iterable<String> allow = this.headers.get(domain);
+                if (allow == null) {
+                    allow = this.allow(domain);
+                }
+                response = new RsWithHeaders(this.origin.act(req), allow);
+            }
         } else {
             response = new RsWithHeaders(
                 new RsWithStatus(
                     HttpURLConnection.HTTP_FORBIDDEN
                 ),
-                "Access-Control-Allow-Credentials: false"
+                "Access-Control-Allow-Credentials: false",
+                TkCors.VARY
             );
         }
         return response;
     }
+
+    /**
+     * Find out what to give back as the allowed origin.
+     * @param domain The origin
+     * @return The origin, "*" if it is allowed only by "*", or empty
+     *  string if it is not allowed
+     */
+    private String allowed(final String domain) {
+        boolean allows = this.allowed.contains(domain);
+        final int host = domain.indexOf("://") + 3;
+        if (!allows && host > 2) {
+            final String scheme = domain.substring(0, host);
+            int dot = domain.indexOf('.', host);
+            while (!allows && dot >= 0) {
+                allows = this.allowed.contains(
+                    scheme.concat(TkCors.ANY).concat(domain.substring(dot))
+                );
+                dot = domain.indexOf('.', dot + 1);
+            }
+        }
+        final String allowed;
+        if (allows) {
+            allowed = domain;
+        } else if (!domain.isEmpty() && this.allowed.contains(TkCors.ANY)) {
+            allowed = TkCors.ANY;
+        } else {
+            allowed = "";
+        }
+        return allowed;
+    }
+
+    /**
+     * Response to the preflight request.
+     * @param domain The allowed origin
+     * @return Response
+     */
+    private Response preflight(final String domain) {
+        Response response = this.preflights.get(domain);
+        if (response == null) {
+            response = this.answer(domain);
+        }
+        return response;
+    }
+
+    /**
+     * Response to the preflight request, made anew.
+     * @param domain The allowed origin
+     * @return Response
+     */
+    private Response answer(final String domain) {
+        final List<String> lines = new ArrayList<>(6);
+        for (final String line : this.allow(domain)) {
+            lines.add(line);
+        }
+        lines.add(String.format("Access-Control-Max-Age: %d", this.age));
+        if (!this.names.isEmpty()) {
+            lines.add(
+                String.format("Access-Control-Allow-Headers: %s", this.names)
+            );
+        }
+        return new RsWithHeaders(new RsEmpty(), lines);
+    }
+
+    /**
+     * Headers of a response to the origin.
+     * @param domain The allowed origin
+     * @return Headers
+     */
+    private Iterable<String> allow(final String domain) {
+        final Iterable<String> lines;
+        if (TkCors.ANY.equals(domain)) {
+            lines = Arrays.asList(
+                TkCors.METHODS,
+                "Access-Control-Allow-Origin: *",
+                TkCors.VARY
+            );
+        } else {
+            lines = Arrays.asList(
+                TkCors.CREDENTIALS,
+                TkCors.METHODS,
+                String.format("Access-Control-Allow-Origin: %s", domain),
+                TkCors.VARY
+            );
+        }
+        return lines;
+    }
 }
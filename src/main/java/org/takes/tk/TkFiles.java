@@ -8,7 +8,6 @@ import java.io.File;
 import java.net.HttpURLConnection;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
-import org.cactoos.io.InputOf;
 import org.takes.HttpException;
 import org.takes.rq.RqHref;
 import org.takes.rs.RsWithBody;
@@ -64,7 +63,7 @@ public final class TkFiles extends TkWrap {
                         )
                     );
                 }
-                return new RsWithBody(new InputOf(file).stream());
+                return new RsWithBody(file.toPath());
             }
         );
     }
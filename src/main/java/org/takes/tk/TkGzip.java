@@ -4,6 +4,7 @@
  */
 package org.takes.tk;
 
+import java.util.zip.Deflater;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import org.takes.Response;
@@ -15,6 +16,9 @@ import org.takes.rs.RsGzip;
 /**
  * Take that compresses responses with GZIP.
  *
+ * <p>The body is compressed while it is being sent, see {@link RsGzip}
+ * for the details about what is not compressed.</p>
+ *
  * <p>The class is immutable and thread-safe.
  *
  * @since 0.10
@@ -28,12 +32,25 @@ public final class TkGzip extends TkWrap {
      * @param take Original take
      */
     public TkGzip(final Take take) {
+        this(take, Deflater.DEFAULT_COMPRESSION, 0L);
+    }
+
+    /**
+     * Ctor.
+     * @param take Original take
+     * @param level Compression level, from 0 to 9, see {@link Deflater}
+     * @param min Min length of body to compress, in bytes
+     * @since 2.0
+     */
+    public TkGzip(final Take take, final int level, final long min) {
         super(
             req -> {
                 final Response response = take.act(req);
                 return new RsFork(
                     req,
-                    new FkEncoding("gzip", new RsGzip(response)),
+                    new FkEncoding(
+                        "gzip", new RsGzip(response, level, min)
+                    ),
                     new FkEncoding("", response)
                 );
             }
@@ -0,0 +1,45 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.facets.fork;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link BoundedCache}.
+ * @since 2.0
+ */
+final class BoundedCacheTest {
+
+    @Test
+    void makesValueOnce() {
+        final BoundedCache<String, String> cache = new BoundedCache<>(2);
+        cache.get("a", key -> "first");
+        MatcherAssert.assertThat(
+            "BoundedCache must return the value made before",
+            cache.get("a", key -> "second"),
+            Matchers.equalTo("first")
+        );
+    }
+
+    @Test
+    void forgetsEntriesWhenFull() {
+        final BoundedCache<String, String> cache = new BoundedCache<>(2);
+        cache.get("a", key -> "a1");
+        cache.get("b", key -> "b1");
+        cache.get("c", key -> "c1");
+        MatcherAssert.assertThat(
+            "BoundedCache must forget old entries when it is full",
+            cache.get("a", key -> "a2"),
+            Matchers.equalTo("a2")
+        );
+        MatcherAssert.assertThat(
+            "BoundedCache must not grow above its limit",
+            cache.size(),
+            Matchers.lessThanOrEqualTo(2)
+        );
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.facets.fork;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.takes.rq.RqFake;
+import org.takes.rs.RsBodyPrint;
+
+/**
+ * Test case for {@link FkAdaptive}.
+ * @since 2.0
+ */
+final class FkAdaptiveTest {
+
+    @Test
+    void routesToMatchingFork() throws Exception {
+        MatcherAssert.assertThat(
+            "FkAdaptive must dispatch to the fork that matches",
+            new RsBodyPrint(
+                new FkAdaptive(
+                    new FkRegex("/first", "one"),
+                    new FkRegex("/second", "two")
+                ).route(new RqFake("GET", "/second")).get()
+            ).asString(),
+            Matchers.equalTo("two")
+        );
+    }
+
+    @Test
+    void countsHitsOfForks() throws Exception {
+        final FkAdaptive fork = new FkAdaptive(
+            new FkRegex("/a", "a"),
+            new FkRegex("/b", "b")
+        );
+        fork.route(new RqFake("GET", "/b"));
+        fork.route(new RqFake("GET", "/b"));
+        fork.route(new RqFake("GET", "/c"));
+        MatcherAssert.assertThat(
+            "FkAdaptive must count hits of every fork",
+            fork.stats(),
+            Matchers.contains(0L, 2L)
+        );
+    }
+
+    @Test
+    void putsPopularForksFirst() throws Exception {
+        final Fork cold = new FkRegex("/cold", "cold");
+        final Fork hot = new FkRegex("/hot", "hot");
+        final FkAdaptive fork = new FkAdaptive(1, cold, hot);
+        fork.route(new RqFake("GET", "/hot"));
+        MatcherAssert.assertThat(
+            "FkAdaptive must ask the popular fork first",
+            fork.order(),
+            Matchers.contains(hot, cold)
+        );
+    }
+}
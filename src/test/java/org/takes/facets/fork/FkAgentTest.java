@@ -4,6 +4,7 @@
  */
 package org.takes.facets.fork;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
@@ -53,4 +54,23 @@ final class FkAgentTest {
         );
     }
 
+    @Test
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    void asksMatcherOncePerAgent() throws Exception {
+        final AtomicInteger asked = new AtomicInteger();
+        final Fork fork = new FkAgent(
+            new TkEmpty(),
+            token -> asked.incrementAndGet() > 0
+        );
+        for (int idx = 0; idx < 3; ++idx) {
+            fork.route(
+                new RqWithHeader(new RqFake(), "User-Agent", "Firefox/115.0")
+            );
+        }
+        MatcherAssert.assertThat(
+            "FkAgent must ask the matcher only once for the same agent",
+            asked.get(),
+            Matchers.equalTo(1)
+        );
+    }
 }
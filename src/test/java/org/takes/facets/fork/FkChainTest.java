@@ -10,7 +10,9 @@ import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.llorllale.cactoos.matchers.IsText;
 import org.takes.rq.RqFake;
+import org.takes.rs.RsBodyPrint;
 import org.takes.rs.RsPrint;
+import org.takes.tk.TkText;
 
 /**
  * Test case for {@link FkChain}.
@@ -54,4 +56,29 @@ final class FkChainTest {
             )
         );
     }
+
+    @Test
+    void keepsOrderOfForksAroundOtherForks() throws Exception {
+        final Fork chain = new FkChain(
+            new FkRegex("/first", "first"),
+            new FkRegex("/(second|third)", "regex"),
+            new FkFixed(new TkText("fixed")),
+            new FkRegex("/third", "third"),
+            new FkRegex("/fourth", "fourth")
+        );
+        MatcherAssert.assertThat(
+            "FkChain must ask forks in their order, even compiled ones",
+            new RsBodyPrint(
+                chain.route(new RqFake("GET", "/third")).get()
+            ).asString(),
+            Matchers.equalTo("regex")
+        );
+        MatcherAssert.assertThat(
+            "FkChain must not skip a fork, which is not a regex one",
+            new RsBodyPrint(
+                chain.route(new RqFake("GET", "/fourth")).get()
+            ).asString(),
+            Matchers.equalTo("fixed")
+        );
+    }
 }
@@ -0,0 +1,78 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.facets.fork;
+
+import org.cactoos.text.Joined;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.llorllale.cactoos.matchers.IsText;
+import org.takes.rq.RqFake;
+import org.takes.rs.RsBodyPrint;
+import org.takes.rs.RsPrint;
+import org.takes.rs.RsText;
+import org.takes.tk.TkText;
+
+/**
+ * Test case for {@link FkDispatch}.
+ * @since 2.0
+ */
+final class FkDispatchTest {
+
+    @Test
+    void dispatchesByMethodAndPath() throws Exception {
+        MatcherAssert.assertThat(
+            "FkDispatch must find the endpoint by method and path",
+            new RsBodyPrint(
+                new FkDispatch(
+                    new FkEndpoint(
+                        "GET", "/user/{name}",
+                        (TkRegex) req -> new RsText(
+                            req.matcher().group("name")
+                        )
+                    ),
+                    new FkEndpoint(
+                        "PUT,DELETE", "/user/{name}", new TkText("saved")
+                    )
+                ).route(new RqFake("DELETE", "/user/jeff")).get()
+            ).asString(),
+            Matchers.equalTo("saved")
+        );
+    }
+
+    @Test
+    void returnsMethodNotAllowed() throws Exception {
+        MatcherAssert.assertThat(
+            "FkDispatch must return 405 with methods of the route",
+            new RsPrint(
+                new FkDispatch(
+                    new FkEndpoint("GET", "/items", new TkText("all")),
+                    new FkEndpoint("POST", "/items", new TkText("new")),
+                    new FkEndpoint("PUT", "/other", new TkText("put"))
+                ).route(new RqFake("PUT", "/items")).get()
+            ),
+            new IsText(
+                new Joined(
+                    "\r\n",
+                    "HTTP/1.1 405 Method Not Allowed",
+                    "Allow: GET, POST",
+                    "",
+                    ""
+                )
+            )
+        );
+    }
+
+    @Test
+    void skipsUnknownPath() throws Exception {
+        MatcherAssert.assertThat(
+            "FkDispatch must not match unknown path",
+            new FkDispatch(
+                new FkEndpoint("GET", "/home", new TkText("home"))
+            ).route(new RqFake("GET", "/away")).has(),
+            Matchers.is(false)
+        );
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.facets.fork;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.takes.rq.RqFake;
+import org.takes.tk.TkText;
+
+/**
+ * Test case for {@link FkEndpoint}.
+ * @since 2.0
+ */
+final class FkEndpointTest {
+
+    @Test
+    void equalsToEndpointWithSameMethods() {
+        final TkRegex take = new TkText("same")::act;
+        MatcherAssert.assertThat(
+            "Endpoints with the same methods must be equal, in any order",
+            new FkEndpoint("PUT, get,GET", "/same", take),
+            Matchers.allOf(
+                Matchers.equalTo(new FkEndpoint("GET,PUT", "/same", take)),
+                Matchers.hasToString(
+                    new FkEndpoint("GET,PUT", "/same", take).toString()
+                )
+            )
+        );
+    }
+
+    @Test
+    void matchesByMethodAndPath() throws Exception {
+        MatcherAssert.assertThat(
+            "FkEndpoint must match only its methods",
+            new FkEndpoint("GET", "/a", new TkText("a"))
+                .route(new RqFake("POST", "/a")).has(),
+            Matchers.is(false)
+        );
+    }
+}
@@ -10,6 +10,8 @@ import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.takes.rq.RqFake;
 import org.takes.rq.RqMethod;
+import org.takes.rs.RsBodyPrint;
+import org.takes.rs.RsText;
 import org.takes.tk.TkEmpty;
 
 /**
@@ -75,4 +77,48 @@ final class FkRegexTest {
         );
     }
 
+    @Test
+    void matchesNamedParts() throws Exception {
+        MatcherAssert.assertThat(
+            "FkRegex must give named parts of the path through the matcher",
+            new RsBodyPrint(
+                new FkRegex(
+                    "/user/{name}/posts",
+                    (TkRegex) req -> new RsText(req.matcher().group("name"))
+                ).route(new RqFake("GET", "/user/jeff/posts")).get()
+            ).asString(),
+            Matchers.equalTo("jeff")
+        );
+    }
+
+    @Test
+    void keepsUnicodeClassesInBrackets() throws Exception {
+        MatcherAssert.assertThat(
+            "FkRegex must not take \\p{Alnum} in brackets for a name",
+            new FkRegex("/[\\p{Alnum}]+", "")
+                .route(new RqFake("GET", "/abc123")).has(),
+            Matchers.is(true)
+        );
+    }
+
+    @Test
+    void keepsUnicodeClasses() throws Exception {
+        MatcherAssert.assertThat(
+            "FkRegex must not take \\p{L} for a name",
+            new FkRegex("/\\p{L}+", "")
+                .route(new RqFake("GET", "/\u00e9t\u00e9")).has(),
+            Matchers.is(true)
+        );
+    }
+
+    @Test
+    void keepsHexCodes() throws Exception {
+        MatcherAssert.assertThat(
+            "FkRegex must not take \\x{FF} for a name",
+            new FkRegex("/x\\x{FF}", "")
+                .route(new RqFake("GET", "/x\u00ff")).has(),
+            Matchers.is(true)
+        );
+    }
+
 }
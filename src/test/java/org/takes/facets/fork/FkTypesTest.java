@@ -87,4 +87,26 @@ final class FkTypesTest {
             Matchers.is(true)
         );
     }
+
+    @Test
+    void matchesByAnyOfAcceptHeaders() throws Exception {
+        final FkTypes fork = new FkTypes("application/json", new RsEmpty());
+        MatcherAssert.assertThat(
+            "FkTypes must match when one of many Accept headers matches",
+            fork.route(
+                new RqWithHeader(
+                    new RqWithHeader(new RqFake(), "Accept", "text/html"),
+                    "Accept", "application/json"
+                )
+            ).has(),
+            Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            "FkTypes must not reuse a verdict for another Accept header",
+            fork.route(
+                new RqWithHeader(new RqFake(), "Accept", "text/html")
+            ).has(),
+            Matchers.is(false)
+        );
+    }
 }
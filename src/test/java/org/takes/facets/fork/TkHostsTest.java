@@ -0,0 +1,99 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.facets.fork;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.takes.HttpException;
+import org.takes.Request;
+import org.takes.Take;
+import org.takes.rq.RqFake;
+import org.takes.rs.RsBodyPrint;
+import org.takes.tk.TkText;
+
+/**
+ * Test case for {@link TkHosts}.
+ * @since 2.0
+ */
+final class TkHostsTest {
+
+    @Test
+    void dispatchesByExactHost() throws Exception {
+        MatcherAssert.assertThat(
+            "TkHosts must find the take by exact host, ignoring port and case",
+            new RsBodyPrint(
+                new TkHosts(TkHostsTest.hosts()).act(
+                    TkHostsTest.request("WWW.Example.com:8080")
+                )
+            ).asString(),
+            Matchers.equalTo("home")
+        );
+    }
+
+    @Test
+    void dispatchesByWildcard() throws Exception {
+        MatcherAssert.assertThat(
+            "TkHosts must find the take by the longest wildcard",
+            new RsBodyPrint(
+                new TkHosts(TkHostsTest.hosts()).act(
+                    TkHostsTest.request("a.doc.example.com")
+                )
+            ).asString(),
+            Matchers.equalTo("doc")
+        );
+    }
+
+    @Test
+    void fallsBackOnUnknownHost() throws Exception {
+        MatcherAssert.assertThat(
+            "TkHosts must use the fallback take for unknown host",
+            new RsBodyPrint(
+                new TkHosts(TkHostsTest.hosts(), new TkText("unknown")).act(
+                    TkHostsTest.request("example.com")
+                )
+            ).asString(),
+            Matchers.equalTo("unknown")
+        );
+    }
+
+    @Test
+    void failsOnUnknownHostByDefault() {
+        Assertions.assertThrows(
+            HttpException.class,
+            () -> new TkHosts(TkHostsTest.hosts()).act(
+                TkHostsTest.request("www.example.org")
+            )
+        );
+    }
+
+    /**
+     * Request to the host.
+     * @param host Host
+     * @return Request
+     */
+    private static Request request(final String host) {
+        return new RqFake(
+            Arrays.asList("GET / HTTP/1.1", String.format("Host: %s", host)),
+            ""
+        );
+    }
+
+    /**
+     * Takes by host names.
+     * @return Map of them
+     */
+    private static Map<String, Take> hosts() {
+        final Map<String, Take> hosts = new HashMap<>(4);
+        hosts.put("www.example.com", new TkText("home"));
+        hosts.put("*.example.com", new TkText("tenant"));
+        hosts.put("*.doc.example.com", new TkText("doc"));
+        return hosts;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.facets.fork;
+
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Collection;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.takes.HttpException;
+import org.takes.Take;
+import org.takes.rq.RqFake;
+import org.takes.rs.RsBodyPrint;
+import org.takes.rs.RsText;
+
+/**
+ * Test case for {@link TkRouter}.
+ * @since 2.0
+ */
+final class TkRouterTest {
+
+    @Test
+    void routesByLiteralPaths() throws Exception {
+        final Take take = new TkRouter(
+            new FkRegex("/", "index"),
+            new FkRegex("/home", "home"),
+            new FkRegex("/home/more", "more")
+        );
+        MatcherAssert.assertThat(
+            "TkRouter must find the route by the whole path, ignoring case",
+            TkRouterTest.body(take, "/HOME/more/"),
+            Matchers.equalTo("more")
+        );
+        MatcherAssert.assertThat(
+            "TkRouter must not route by a prefix of the path",
+            Assertions.assertThrows(
+                HttpException.class,
+                () -> take.act(new RqFake("GET", "/home/less"))
+            ).code(),
+            Matchers.equalTo(HttpURLConnection.HTTP_NOT_FOUND)
+        );
+    }
+
+    @Test
+    void givesNamedPartsThroughMatcher() throws Exception {
+        MatcherAssert.assertThat(
+            "TkRouter must give named parts of the path to the take",
+            TkRouterTest.body(
+                new TkRouter(
+                    new FkRegex(
+                        "/user/{name}/post/{id}",
+                        (TkRegex) req -> new RsText(
+                            String.format(
+                                "%s#%s",
+                                req.matcher().group("name"),
+                                req.matcher().group("id")
+                            )
+                        )
+                    )
+                ),
+                "/user/walter/post/42"
+            ),
+            Matchers.equalTo("walter#42")
+        );
+    }
+
+    @Test
+    void keepsOrderOfForks() throws Exception {
+        final Take take = new TkRouter(
+            new FkRegex("/file/(.+)", "regex"),
+            new FkRegex("/file/{name}", "named"),
+            new FkRegex("/file/readme", "literal"),
+            new FkRegex("/[a-z]+\\.css", "css")
+        );
+        MatcherAssert.assertThat(
+            "TkRouter must pick the first matching fork, as TkFork does",
+            TkRouterTest.body(take, "/file/readme"),
+            Matchers.equalTo("regex")
+        );
+        MatcherAssert.assertThat(
+            "TkRouter must match forks without literal prefix",
+            TkRouterTest.body(take, "/main.css"),
+            Matchers.equalTo("css")
+        );
+    }
+
+    @Test
+    void findsRouteAmongMany() throws Exception {
+        final Collection<FkRegex> forks = new ArrayList<>(400);
+        for (int idx = 0; idx < 400; ++idx) {
+            forks.add(new FkRegex(String.format("/r%d/{id}", idx), "r"));
+        }
+        forks.add(new FkRegex("/r7/{id}/x", "last"));
+        MatcherAssert.assertThat(
+            "TkRouter must find the right route among many similar ones",
+            TkRouterTest.body(new TkRouter(forks), "/r7/1/x"),
+            Matchers.equalTo("last")
+        );
+    }
+
+    /**
+     * Route the request and print the body of the response.
+     * @param take Take
+     * @param path Path of the request
+     * @return Body
+     * @throws Exception If fails
+     */
+    private static String body(final Take take, final String path)
+        throws Exception {
+        return new RsBodyPrint(take.act(new RqFake("GET", path))).asString();
+    }
+}
@@ -14,8 +14,12 @@ import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicReference;
+import org.apache.commons.io.IOUtils;
 import org.cactoos.bytes.BytesOf;
 import org.cactoos.text.Joined;
 import org.hamcrest.MatcherAssert;
@@ -32,8 +36,10 @@ import org.takes.misc.Href;
 import org.takes.rq.RqFake;
 import org.takes.rq.RqHeaders;
 import org.takes.rq.RqPrint;
+import org.takes.rq.RqRequestLine;
 import org.takes.rq.RqSocket;
 import org.takes.rs.ResponseOf;
+import org.takes.rs.RsText;
 import org.takes.tk.TkText;
 
 /**
@@ -183,6 +189,7 @@ import org.takes.tk.TkText;
                         BkBasicTest.POST,
                         BkBasicTest.HOST,
                         "Content-Length: 12",
+                        "Connection: close",
                         "",
                         "Hello Second"
                     ).asString().getBytes()
@@ -207,6 +214,323 @@ import org.takes.tk.TkText;
         );
     }
 
+    @Test
+    void skipsUnreadBodyInPersistentConnection() throws Exception {
+        final MkSocket socket = new MkSocket(
+            new ByteArrayInputStream(
+                new BytesOf(
+                    new Joined(
+                        BkBasicTest.CRLF,
+                        BkBasicTest.POST,
+                        "Content-Length: 7",
+                        "",
+                        "ignoredGET /next HTTP/1.1",
+                        BkBasicTest.HOST,
+                        "",
+                        ""
+                    )
+                ).asBytes()
+            )
+        );
+        new BkBasic(new TkText("done")).accept(socket);
+        MatcherAssert.assertThat(
+            "Both requests must be answered, despite the unread body",
+            socket.bufferedOutput().toString(),
+            RegexMatchers.containsPattern("(?s)done.*HTTP/1.1 200 .*done")
+        );
+    }
+
+    @Test
+    void closesConnectionWhenAsked() throws Exception {
+        final MkSocket socket = new MkSocket(
+            new ByteArrayInputStream(
+                new BytesOf(
+                    new Joined(
+                        BkBasicTest.CRLF,
+                        "GET / HTTP/1.1",
+                        "Connection: close",
+                        "",
+                        "GET / HTTP/1.1",
+                        "",
+                        ""
+                    )
+                ).asBytes()
+            )
+        );
+        new BkBasic(new TkText("once")).accept(socket);
+        MatcherAssert.assertThat(
+            "Only one request must be served after Connection: close",
+            socket.bufferedOutput().toString(),
+            Matchers.allOf(
+                Matchers.containsString("once"),
+                Matchers.not(
+                    RegexMatchers.containsPattern("(?s)once.*once")
+                )
+            )
+        );
+    }
+
+    @Test
+    void closesConnectionWhenAskedAmongOtherTokens() throws Exception {
+        final MkSocket socket = new MkSocket(
+            new ByteArrayInputStream(
+                new BytesOf(
+                    new Joined(
+                        BkBasicTest.CRLF,
+                        "GET / HTTP/1.1",
+                        "Connection: TE, Close",
+                        "",
+                        "GET / HTTP/1.1",
+                        "",
+                        ""
+                    )
+                ).asBytes()
+            )
+        );
+        new BkBasic(new TkText("single")).accept(socket);
+        MatcherAssert.assertThat(
+            "Connection must be closed when close is one of its tokens",
+            socket.bufferedOutput().toString(),
+            Matchers.allOf(
+                Matchers.containsString("single"),
+                Matchers.not(
+                    RegexMatchers.containsPattern("(?s)single.*single")
+                )
+            )
+        );
+    }
+
+    @Test
+    void readsChunksAfterOtherCodings() throws Exception {
+        final MkSocket socket = new MkSocket(
+            new ByteArrayInputStream(
+                new BytesOf(
+                    new Joined(
+                        BkBasicTest.CRLF,
+                        BkBasicTest.POST,
+                        "Transfer-Encoding: gzip, chunked",
+                        "",
+                        "5",
+                        "hello",
+                        "0",
+                        "",
+                        ""
+                    )
+                ).asBytes()
+            )
+        );
+        new BkBasic(
+            req -> new RsText(new RqPrint(req).printBody())
+        ).accept(socket);
+        MatcherAssert.assertThat(
+            "Body must be read in chunks when chunked is the last coding",
+            socket.bufferedOutput().toString(),
+            Matchers.allOf(
+                Matchers.startsWith("HTTP/1.1 200 "),
+                Matchers.endsWith("hello")
+            )
+        );
+    }
+
+    @Test
+    void rejectsUnknownTransferEncoding() throws Exception {
+        final MkSocket socket = new MkSocket(
+            new ByteArrayInputStream(
+                new BytesOf(
+                    new Joined(
+                        BkBasicTest.CRLF,
+                        BkBasicTest.POST,
+                        "Transfer-Encoding: gzip",
+                        "",
+                        "hello",
+                        BkBasicTest.POST,
+                        "",
+                        ""
+                    )
+                ).asBytes()
+            )
+        );
+        new BkBasic(new TkText("never")).accept(socket);
+        MatcherAssert.assertThat(
+            "Request without chunked as the last coding must be rejected",
+            socket.bufferedOutput().toString(),
+            Matchers.allOf(
+                Matchers.startsWith("HTTP/1.1 400 "),
+                Matchers.containsString("Connection: close"),
+                Matchers.not(Matchers.containsString("never"))
+            )
+        );
+    }
+
+    @Test
+    void closesConnectionAfterTooManyRequests() throws Exception {
+        final MkSocket socket = new MkSocket(
+            new ByteArrayInputStream(
+                new BytesOf(
+                    new Joined(
+                        BkBasicTest.CRLF,
+                        "GET /a HTTP/1.1",
+                        "",
+                        "GET /b HTTP/1.1",
+                        "",
+                        "GET /c HTTP/1.1",
+                        "",
+                        ""
+                    )
+                ).asBytes()
+            )
+        );
+        new BkBasic(
+            req -> new RsText(new RqRequestLine.Base(req).uri()),
+            1000L,
+            2
+        ).accept(socket);
+        MatcherAssert.assertThat(
+            "Connection must be closed after the max number of requests",
+            socket.bufferedOutput().toString(),
+            Matchers.allOf(
+                RegexMatchers.containsPattern(
+                    "(?s)/a.*Connection: close\\r\\n\\r\\n/b$"
+                ),
+                Matchers.not(Matchers.containsString("/c"))
+            )
+        );
+    }
+
+    @Test
+    void answersPipelinedRequestsInOrder() throws Exception {
+        final MkSocket socket = new MkSocket(
+            new ByteArrayInputStream(
+                new BytesOf(
+                    new Joined(
+                        BkBasicTest.CRLF,
+                        "GET /slow HTTP/1.1",
+                        "",
+                        BkBasicTest.POST,
+                        "Content-Length: 4",
+                        "",
+                        "fastGET /last HTTP/1.1",
+                        "",
+                        ""
+                    )
+                ).asBytes()
+            )
+        );
+        final ExecutorService service = Executors.newFixedThreadPool(2);
+        try {
+            new BkBasic(
+                req -> {
+                    final String uri = new RqRequestLine.Base(req).uri();
+                    if ("/slow".equals(uri)) {
+                        Thread.sleep(100L);
+                    }
+                    return new RsText(
+                        String.format(
+                            "%s%s", uri, new RqPrint(req).printBody()
+                        )
+                    );
+                },
+                service,
+                4
+            ).accept(socket);
+        } finally {
+            service.shutdown();
+        }
+        MatcherAssert.assertThat(
+            "Pipelined requests must be answered in their order",
+            socket.bufferedOutput().toString(),
+            RegexMatchers.containsPattern("(?s)/slow.*/fast.*/last")
+        );
+    }
+
+    @Test
+    void sendsBodyWithoutLengthInChunks() throws Exception {
+        final MkSocket socket = new MkSocket(
+            new ByteArrayInputStream(
+                new BytesOf(
+                    new Joined(
+                        BkBasicTest.CRLF,
+                        "GET /a HTTP/1.1",
+                        "",
+                        "GET /b HTTP/1.0",
+                        "",
+                        ""
+                    )
+                ).asBytes()
+            )
+        );
+        new BkBasic(
+            req -> new ResponseOf(
+                Collections.singletonList("HTTP/1.1 200 OK"),
+                new ByteArrayInputStream(
+                    new RqRequestLine.Base(req).uri().getBytes(
+                        StandardCharsets.UTF_8
+                    )
+                )
+            )
+        ).accept(socket);
+        MatcherAssert.assertThat(
+            "Body without length must be chunked for HTTP/1.1 only",
+            socket.bufferedOutput().toString(),
+            Matchers.equalTo(
+                new Joined(
+                    BkBasicTest.CRLF,
+                    "HTTP/1.1 200 OK",
+                    "Transfer-Encoding: chunked",
+                    "",
+                    "2",
+                    "/a",
+                    "0",
+                    "",
+                    "HTTP/1.1 200 OK",
+                    "Connection: close",
+                    "",
+                    "/b"
+                ).asString()
+            )
+        );
+    }
+
+    @Test
+    @SuppressWarnings("PMD.AvoidUsingHardCodedIP")
+    void closesIdleConnection() throws Exception {
+        try (ServerSocket server = new ServerSocket(0)) {
+            new Thread(
+                () -> {
+                    try {
+                        new BkBasic(new TkText("idle"), 100L, 10).accept(
+                            server.accept()
+                        );
+                    } catch (final IOException exception) {
+                        throw new IllegalStateException(exception);
+                    }
+                }
+            ).start();
+            try (Socket socket = new Socket(
+                "127.0.0.1",
+                server.getLocalPort()
+            )
+            ) {
+                socket.getOutputStream().write(
+                    new Joined(
+                        BkBasicTest.CRLF,
+                        "GET / HTTP/1.1",
+                        BkBasicTest.HOST,
+                        "",
+                        ""
+                    ).asString().getBytes()
+                );
+                MatcherAssert.assertThat(
+                    "Idle connection must be closed by the server",
+                    IOUtils.toString(
+                        socket.getInputStream(), StandardCharsets.UTF_8
+                    ),
+                    Matchers.endsWith("idle")
+                );
+            }
+        }
+    }
+
     /**
      * BkBasic can return HTTP status 411 when a persistent connection request
      * has no Content-Length.
@@ -0,0 +1,73 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.http;
+
+import com.jcabi.http.request.JdkRequest;
+import com.jcabi.http.response.RestResponse;
+import java.net.HttpURLConnection;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.takes.rs.RsText;
+import org.takes.tk.TkText;
+
+/**
+ * Test case for {@link BkVirtual}.
+ *
+ * @since 2.0
+ */
+final class BkVirtualTest {
+
+    @Test
+    void runsTakesInVirtualThreads() throws Exception {
+        Assumptions.assumeTrue(BkVirtualTest.modern());
+        final AtomicBoolean virtual = new AtomicBoolean();
+        new FtRemote(
+            new BkVirtual(
+                new BkBasic(
+                    req -> {
+                        virtual.set(
+                            (boolean) Thread.class.getMethod("isVirtual")
+                                .invoke(Thread.currentThread())
+                        );
+                        return new RsText("virtual");
+                    }
+                )
+            )
+        ).exec(
+            home -> new JdkRequest(home)
+                .fetch()
+                .as(RestResponse.class)
+                .assertStatus(HttpURLConnection.HTTP_OK)
+                .assertBody(Matchers.equalTo("virtual"))
+        );
+        MatcherAssert.assertThat(
+            "Take must be executed in a virtual thread",
+            virtual.get(),
+            Matchers.is(true)
+        );
+    }
+
+    @Test
+    void refusesToStartOnOldJava() {
+        Assumptions.assumeFalse(BkVirtualTest.modern());
+        Assertions.assertThrows(
+            UnsupportedOperationException.class,
+            () -> new BkVirtual(new BkBasic(new TkText("old")))
+        );
+    }
+
+    /**
+     * Is it Java 21 or later?
+     * @return TRUE if virtual threads are supported
+     */
+    private static boolean modern() {
+        final String version = System.getProperty("java.specification.version");
+        return !version.startsWith("1.") && Integer.parseInt(version) >= 21;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.apache.commons.io.IOUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link FramedInputStream}.
+ *
+ * @since 2.0
+ */
+final class FramedInputStreamTest {
+
+    @Test
+    void stopsAtContentLength() throws IOException {
+        final InputStream input = FramedInputStreamTest.stream("helloGET");
+        MatcherAssert.assertThat(
+            "Body must end where Content-Length says",
+            IOUtils.toString(
+                new FramedInputStream(input, 5L), StandardCharsets.UTF_8
+            ),
+            Matchers.equalTo("hello")
+        );
+        MatcherAssert.assertThat(
+            "Next request must stay in the stream",
+            IOUtils.toString(input, StandardCharsets.UTF_8),
+            Matchers.equalTo("GET")
+        );
+    }
+
+    @Test
+    void passesChunksThroughUntilTheLastOne() throws IOException {
+        final String body = "4\r\nWiki\r\n5;x=y\r\npedia\r\n0\r\nA: b\r\n\r\n";
+        final InputStream input = FramedInputStreamTest.stream(
+            String.format("%sGET", body)
+        );
+        MatcherAssert.assertThat(
+            "Chunked body must be given away as is",
+            IOUtils.toString(
+                new FramedInputStream(input, FramedInputStream.CHUNKED),
+                StandardCharsets.UTF_8
+            ),
+            Matchers.equalTo(body)
+        );
+        MatcherAssert.assertThat(
+            "Next request must stay in the stream after chunks",
+            IOUtils.toString(input, StandardCharsets.UTF_8),
+            Matchers.equalTo("GET")
+        );
+    }
+
+    @Test
+    void drainsUnreadBody() throws IOException {
+        final InputStream input = FramedInputStreamTest.stream(
+            "3\r\nabc\r\n0\r\n\r\nPUT"
+        );
+        MatcherAssert.assertThat(
+            "Unread body must be drained completely",
+            new FramedInputStream(input, FramedInputStream.CHUNKED)
+                .drain(1024L),
+            Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            "Drain must not touch the next request",
+            IOUtils.toString(input, StandardCharsets.UTF_8),
+            Matchers.equalTo("PUT")
+        );
+    }
+
+    @Test
+    void refusesToDrainTooMuch() throws IOException {
+        MatcherAssert.assertThat(
+            "Too long body must not be drained",
+            new FramedInputStream(
+                new ByteArrayInputStream(new byte[4096]), 4096L
+            ).drain(100L),
+            Matchers.is(false)
+        );
+    }
+
+    @Test
+    void reportsTruncatedBody() throws IOException {
+        MatcherAssert.assertThat(
+            "Body cut before its end must not be reported as drained",
+            new FramedInputStream(
+                FramedInputStreamTest.stream("abc"), 10L
+            ).drain(100L),
+            Matchers.is(false)
+        );
+    }
+
+    /**
+     * Make a stream from a text.
+     * @param text The text
+     * @return Stream
+     */
+    private static InputStream stream(final String text) {
+        return new ByteArrayInputStream(
+            text.getBytes(StandardCharsets.UTF_8)
+        );
+    }
+}
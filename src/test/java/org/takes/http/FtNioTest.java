@@ -0,0 +1,341 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.http;
+
+import com.jcabi.http.request.JdkRequest;
+import com.jcabi.http.response.RestResponse;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import org.apache.commons.io.IOUtils;
+import org.cactoos.text.Joined;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.takes.Take;
+import org.takes.facets.fork.FkRegex;
+import org.takes.facets.fork.TkFork;
+import org.takes.rq.RqPrint;
+import org.takes.rs.RsText;
+import org.takes.tk.TkFailure;
+
+/**
+ * Test case for {@link FtNio}.
+ * @since 2.0
+ */
+final class FtNioTest {
+
+    /**
+     * Carriage return constant.
+     */
+    private static final String CRLF = "\r\n";
+
+    @Test
+    @Tag("deep")
+    void justWorks() throws Exception {
+        FtNioTest.remote(
+            new TkFork(new FkRegex("/", "привет!"))
+        ).exec(
+            home -> new JdkRequest(home)
+                .fetch()
+                .as(RestResponse.class)
+                .assertStatus(HttpURLConnection.HTTP_OK)
+                .assertBody(Matchers.startsWith("привет"))
+        );
+    }
+
+    @Test
+    @Tag("deep")
+    void gracefullyHandlesBrokenTake() throws Exception {
+        FtNioTest.remote(new TkFailure("Walter Sobchak")).exec(
+            home -> new JdkRequest(home)
+                .fetch()
+                .as(RestResponse.class)
+                .assertStatus(HttpURLConnection.HTTP_INTERNAL_ERROR)
+                .assertBody(Matchers.containsString("Sobchak"))
+        );
+    }
+
+    @Test
+    @Tag("deep")
+    void parsesIncomingHttpRequest() throws Exception {
+        final Take take = request -> new RsText(
+            String.format("got: %s", new RqPrint(request).printBody())
+        );
+        FtNioTest.remote(take).exec(
+            home -> new JdkRequest(home)
+                .method("PUT")
+                .body().set("Donny, you're out of your element").back()
+                .fetch()
+                .as(RestResponse.class)
+                .assertStatus(HttpURLConnection.HTTP_OK)
+                .assertBody(Matchers.containsString("got: Donny"))
+        );
+    }
+
+    @Test
+    @Tag("deep")
+    void servesPipelinedRequestsInOneConnection() throws Exception {
+        FtNioTest.remote(
+            request -> new RsText(new RqPrint(request).printBody())
+        ).exec(
+            home -> {
+                try (Socket socket = new Socket(home.getHost(), home.getPort())) {
+                    socket.getOutputStream().write(
+                        new Joined(
+                            FtNioTest.CRLF,
+                            "POST / HTTP/1.1",
+                            "Content-Length: 5",
+                            "",
+                            "firstPOST / HTTP/1.1",
+                            "Transfer-Encoding: chunked",
+                            "",
+                            "6",
+                            "second",
+                            "0",
+                            "",
+                            "GET / HTTP/1.1",
+                            "Connection: close",
+                            "",
+                            ""
+                        ).asString().getBytes(StandardCharsets.UTF_8)
+                    );
+                    MatcherAssert.assertThat(
+                        "All pipelined requests must be answered, in order",
+                        IOUtils.toString(
+                            socket.getInputStream(),
+                            StandardCharsets.UTF_8
+                        ),
+                        Matchers.stringContainsInOrder(
+                            "first", "second", "Content-Length: 0"
+                        )
+                    );
+                }
+            }
+        );
+    }
+
+    @Test
+    @Tag("deep")
+    void rejectsBrokenHead() throws Exception {
+        FtNioTest.remote(new TkFailure("must not be called")).exec(
+            home -> {
+                try (Socket socket = new Socket(home.getHost(), home.getPort())) {
+                    socket.getOutputStream().write(
+                        "GET / HTTP/1.1\r\nHost: \u0001\r\n\r\n".getBytes(
+                            StandardCharsets.ISO_8859_1
+                        )
+                    );
+                    MatcherAssert.assertThat(
+                        "Broken head must be rejected with 400",
+                        IOUtils.toString(
+                            socket.getInputStream(),
+                            StandardCharsets.UTF_8
+                        ),
+                        Matchers.startsWith("HTTP/1.1 400 ")
+                    );
+                }
+            }
+        );
+    }
+
+    @Test
+    @Tag("deep")
+    void readsHeaderTokens() throws Exception {
+        FtNioTest.remote(
+            request -> new RsText(new RqPrint(request).printBody())
+        ).exec(
+            home -> {
+                try (Socket socket = new Socket(home.getHost(), home.getPort())) {
+                    socket.getOutputStream().write(
+                        new Joined(
+                            FtNioTest.CRLF,
+                            "POST / HTTP/1.1",
+                            "Transfer-Encoding: gzip, Chunked",
+                            "Connection: closed-by-proxy",
+                            "",
+                            "6",
+                            "zipped",
+                            "0",
+                            "",
+                            "GET / HTTP/1.1",
+                            "Connection: TE, Close",
+                            "",
+                            ""
+                        ).asString().getBytes(StandardCharsets.UTF_8)
+                    );
+                    MatcherAssert.assertThat(
+                        "Headers must be read as lists of tokens",
+                        IOUtils.toString(
+                            socket.getInputStream(),
+                            StandardCharsets.UTF_8
+                        ),
+                        Matchers.stringContainsInOrder(
+                            "zipped", "Content-Length: 0"
+                        )
+                    );
+                }
+            }
+        );
+    }
+
+    @Test
+    @Tag("deep")
+    void rejectsUnknownTransferEncoding() throws Exception {
+        FtNioTest.rejects(
+            "Request without chunked as the last coding must be rejected",
+            "POST / HTTP/1.1",
+            "Transfer-Encoding: chunked, gzip",
+            "",
+            "5",
+            "hello",
+            "0",
+            "",
+            ""
+        );
+    }
+
+    @Test
+    @Tag("deep")
+    void rejectsBothLengthAndChunks() throws Exception {
+        FtNioTest.rejects(
+            "Request with both Content-Length and chunks must be rejected",
+            "POST / HTTP/1.1",
+            "Content-Length: 10",
+            "Transfer-Encoding: chunked",
+            "",
+            "5",
+            "hello",
+            "0",
+            "",
+            ""
+        );
+    }
+
+    @Test
+    @Tag("deep")
+    void rejectsTooLongBody() throws Exception {
+        FtNioTest.remote(new TkFailure("must not be called"), 16L, 60_000L)
+            .exec(
+                home -> {
+                    try (Socket socket = new Socket(
+                        home.getHost(), home.getPort()
+                    )) {
+                        socket.getOutputStream().write(
+                            new Joined(
+                                FtNioTest.CRLF,
+                                "POST / HTTP/1.1",
+                                "Host: localhost",
+                                "Content-Length: 17",
+                                "",
+                                "seventeen bytes!!"
+                            ).asString().getBytes(StandardCharsets.UTF_8)
+                        );
+                        MatcherAssert.assertThat(
+                            "Too long body must be rejected with 413",
+                            IOUtils.toString(
+                                socket.getInputStream(),
+                                StandardCharsets.UTF_8
+                            ),
+                            Matchers.startsWith("HTTP/1.1 413 ")
+                        );
+                    }
+                }
+            );
+    }
+
+    @Test
+    @Tag("deep")
+    void closesIdleConnection() throws Exception {
+        FtNioTest.remote(new TkFailure("must not be called"), 16L, 100L)
+            .exec(
+                home -> {
+                    try (Socket socket = new Socket(
+                        home.getHost(), home.getPort()
+                    )) {
+                        socket.setSoTimeout(10_000);
+                        MatcherAssert.assertThat(
+                            "Idle connection must be closed by the server",
+                            socket.getInputStream().read(),
+                            Matchers.equalTo(-1)
+                        );
+                    }
+                }
+            );
+    }
+
+    /**
+     * Send the request and make sure it is rejected with 400.
+     * @param msg Message of the assertion
+     * @param lines Lines of the request
+     * @throws Exception If fails
+     */
+    private static void rejects(final String msg, final String... lines)
+        throws Exception {
+        FtNioTest.remote(new TkFailure("must not be called")).exec(
+            home -> {
+                try (Socket socket = new Socket(home.getHost(), home.getPort())) {
+                    socket.getOutputStream().write(
+                        new Joined(FtNioTest.CRLF, lines).asString()
+                            .getBytes(StandardCharsets.UTF_8)
+                    );
+                    MatcherAssert.assertThat(
+                        msg,
+                        IOUtils.toString(
+                            socket.getInputStream(),
+                            StandardCharsets.UTF_8
+                        ),
+                        Matchers.allOf(
+                            Matchers.startsWith("HTTP/1.1 400 "),
+                            Matchers.containsString("Connection: close")
+                        )
+                    );
+                }
+            }
+        );
+    }
+
+    /**
+     * Make remote control for NIO front.
+     * @param take Take
+     * @return Remote control
+     * @throws IOException If fails
+     */
+    private static FtRemote remote(final Take take) throws IOException {
+        final ServerSocketChannel channel = ServerSocketChannel.open();
+        channel.bind(new InetSocketAddress(0));
+        return new FtRemote(
+            new FtNio(take, channel, 2, Executors.newFixedThreadPool(4)),
+            channel.socket(),
+            false
+        );
+    }
+
+    /**
+     * Make remote control for NIO front with limits.
+     * @param take Take
+     * @param body Max length of request body
+     * @param idle Idle timeout, in msec
+     * @return Remote control
+     * @throws IOException If fails
+     */
+    private static FtRemote remote(final Take take, final long body,
+        final long idle) throws IOException {
+        final ServerSocketChannel channel = ServerSocketChannel.open();
+        channel.bind(new InetSocketAddress(0));
+        return new FtRemote(
+            new FtNio(
+                take, channel, 2, Executors.newFixedThreadPool(4), body, idle
+            ),
+            channel.socket(),
+            false
+        );
+    }
+}
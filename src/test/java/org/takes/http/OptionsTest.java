@@ -4,9 +4,13 @@
  */
 package org.takes.http;
 
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Path;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * Test case for {@link OptionsTest}.
@@ -31,4 +35,31 @@ final class OptionsTest {
         );
     }
 
+    @Test
+    void understandsVirtualThreadsOption() {
+        MatcherAssert.assertThat(
+            "Virtual threads option should be enabled",
+            new Options("--virtual").virtual(),
+            Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            "Virtual threads option should be disabled by default",
+            new Options("--threads=4").virtual(),
+            Matchers.is(false)
+        );
+    }
+
+    @Test
+    void opensSocketWithChannel(@TempDir final Path temp) throws IOException {
+        try (ServerSocket socket = new Options(
+            String.format("--port=%s", temp.resolve("port"))
+        ).socket()) {
+            MatcherAssert.assertThat(
+                "Socket must be opened through a channel",
+                socket.getChannel(),
+                Matchers.notNullValue()
+            );
+        }
+    }
+
 }
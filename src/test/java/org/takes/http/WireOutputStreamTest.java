@@ -0,0 +1,70 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link WireOutputStream}.
+ *
+ * @since 2.0
+ */
+final class WireOutputStreamTest {
+
+    @Test
+    void sendsFileWithoutChannel(@TempDir final Path temp) throws Exception {
+        final byte[] data = new byte[1 << 20];
+        new Random(42L).nextBytes(data);
+        final Path file = temp.resolve("data.bin");
+        Files.write(file, data);
+        final MkSocket socket = new MkSocket(
+            new ByteArrayInputStream(new byte[0])
+        );
+        try (WireOutputStream output = new WireOutputStream(socket)) {
+            output.write("head".getBytes(StandardCharsets.UTF_8));
+            output.send(new FileInputStream(file.toFile()));
+        }
+        final byte[] sent = socket.bufferedOutput().toByteArray();
+        MatcherAssert.assertThat(
+            "File must be sent completely, right after buffered bytes",
+            new String(sent, 0, 4, StandardCharsets.UTF_8),
+            Matchers.equalTo("head")
+        );
+        MatcherAssert.assertThat(
+            "File content must be sent as is",
+            Arrays.copyOfRange(sent, 4, sent.length),
+            Matchers.equalTo(data)
+        );
+    }
+
+    @Test
+    void sendsOrdinaryStream() throws Exception {
+        final MkSocket socket = new MkSocket(
+            new ByteArrayInputStream(new byte[0])
+        );
+        try (WireOutputStream output = new WireOutputStream(socket)) {
+            output.send(
+                new ByteArrayInputStream(
+                    "Dude".getBytes(StandardCharsets.UTF_8)
+                )
+            );
+        }
+        MatcherAssert.assertThat(
+            "Stream must be copied as is",
+            socket.bufferedOutput().toString(),
+            Matchers.equalTo("Dude")
+        );
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.rq;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.takes.Request;
+
+/**
+ * Test case for {@link HeadMemo}.
+ * @since 2.0
+ */
+final class HeadMemoTest {
+
+    @Test
+    void makesViewOncePerHead() throws IOException {
+        final AtomicInteger made = new AtomicInteger();
+        final HeadMemo<String> memo = new HeadMemo<>(
+            req -> {
+                made.incrementAndGet();
+                return new RqMethod.Base(req).method();
+            }
+        );
+        final Request req = new RqFake(RqMethod.POST);
+        memo.get(req);
+        memo.get(new RqHref.Base(req));
+        MatcherAssert.assertThat(
+            "View of the same head must be made only once",
+            made.get(),
+            Matchers.equalTo(1)
+        );
+    }
+
+    @Test
+    void makesNewViewWhenHeadChanges() throws IOException {
+        final HeadMemo<String> memo = new HeadMemo<>(
+            req -> new RqHeaders.Smart(req).single("X-Name", "")
+        );
+        final Request req = new RqFake();
+        memo.get(req);
+        MatcherAssert.assertThat(
+            "View must be made again for the changed head",
+            memo.get(new RqWithHeader(req, "X-Name", "Jeff")),
+            Matchers.equalTo("Jeff")
+        );
+    }
+
+    @Test
+    void makesViewPerHeadObject() throws IOException {
+        final AtomicInteger made = new AtomicInteger();
+        final HeadMemo<String> memo = new HeadMemo<>(
+            req -> {
+                made.incrementAndGet();
+                return new RqMethod.Base(req).method();
+            }
+        );
+        memo.get(new RqFake(RqMethod.PUT));
+        memo.get(new RqFake(RqMethod.PUT));
+        MatcherAssert.assertThat(
+            "Views of equal but different heads must be made separately",
+            made.get(),
+            Matchers.equalTo(2)
+        );
+    }
+}
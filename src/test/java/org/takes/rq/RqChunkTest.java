@@ -8,6 +8,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
 import org.cactoos.text.Joined;
+import org.cactoos.text.TextOf;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
@@ -158,4 +159,31 @@ final class RqChunkTest {
             );
         }
     }
+
+    @Test
+    void readsChunksAfterOtherCodings() throws Exception {
+        final String data = "compressed";
+        MatcherAssert.assertThat(
+            "Body must be read in chunks when chunked is the last coding",
+            new TextOf(
+                new RqChunk(
+                    new RqFake(
+                        Arrays.asList(
+                            "POST /h?a=4",
+                            "Host: d.example.com",
+                            "Transfer-Encoding: gzip, Chunked"
+                        ),
+                        new Joined(
+                            RqChunkTest.CRLF,
+                            Integer.toHexString(data.length()),
+                            data,
+                            RqChunkTest.END_OF_CHUNK,
+                            ""
+                        ).toString()
+                    )
+                ).body()
+            ).asString(),
+            Matchers.equalTo(data)
+        );
+    }
 }
@@ -4,11 +4,15 @@
  */
 package org.takes.rq;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
+import org.takes.Request;
 
 /**
  * Test case for {@link RqHeaders}.
@@ -88,4 +92,39 @@ final class RqHeadersTest {
         );
     }
 
+    @Test
+    void parsesHeadOnlyOnceForAllViews() throws IOException {
+        final AtomicInteger reads = new AtomicInteger();
+        final List<String> lines = Arrays.asList(
+            "GET /once", "Host: www.takes.org", "Accept: text/plain"
+        );
+        final Iterable<String> head = () -> {
+            reads.incrementAndGet();
+            return lines.iterator();
+        };
+        final Request req = new RequestOf(
+            head, new ByteArrayInputStream(new byte[0])
+        );
+        new RqHeaders.Base(req).header("host");
+        new RqHeaders.Smart(req).single("accept");
+        new RqHeaders.Base(req).names();
+        MatcherAssert.assertThat(
+            "Head must be parsed once and shared by all views",
+            reads.get(),
+            Matchers.equalTo(1)
+        );
+    }
+
+    @Test
+    void givesOwnCopyOfHeaderValues() throws IOException {
+        final Request req = new RqFake(
+            Arrays.asList("GET /copy", "Accept: text/xml"), ""
+        );
+        new RqHeaders.Base(req).header("accept").add("text/html");
+        MatcherAssert.assertThat(
+            "Changes of the values must not be seen by other views",
+            new RqHeaders.Base(req).header("accept"),
+            Matchers.contains("text/xml")
+        );
+    }
 }
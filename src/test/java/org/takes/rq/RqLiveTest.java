@@ -4,8 +4,11 @@
  */
 package org.takes.rq;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import org.cactoos.io.InputStreamOf;
 import org.cactoos.text.Joined;
 import org.hamcrest.MatcherAssert;
@@ -116,4 +119,79 @@ final class RqLiveTest {
         );
     }
 
+    @Test
+    void leavesStreamRightAfterHead() throws Exception {
+        final InputStream input = new BufferedInputStream(
+            new ByteArrayInputStream(
+                new Joined(
+                    RqLiveTest.CRLF,
+                    "GET /first HTTP/1.1",
+                    "Host: a",
+                    "",
+                    "GET /second HTTP/1.1",
+                    "",
+                    ""
+                ).asString().getBytes(StandardCharsets.UTF_8)
+            )
+        );
+        new RqLive(input).head();
+        MatcherAssert.assertThat(
+            "Next request must be parsed from the same stream",
+            new RqRequestLine.Base(new RqLive(input)).uri(),
+            Matchers.equalTo("/second")
+        );
+    }
+
+    @Test
+    void readsHeadArrivingSlowly() throws Exception {
+        final byte[] bytes = new Joined(
+            RqLiveTest.CRLF,
+            "GET /slow HTTP/1.1",
+            "X-Slow: yes",
+            "",
+            "body"
+        ).asString().getBytes(StandardCharsets.UTF_8);
+        final Request req = new RqLive(
+            new InputStream() {
+                private int pos;
+
+                @Override
+                public int read() {
+                    final int data;
+                    if (this.pos < bytes.length) {
+                        data = bytes[this.pos] & 0xFF;
+                        ++this.pos;
+                    } else {
+                        data = -1;
+                    }
+                    return data;
+                }
+
+                @Override
+                public int read(final byte[] buf, final int off,
+                    final int len) {
+                    final int data = this.read();
+                    final int read;
+                    if (data < 0) {
+                        read = -1;
+                    } else {
+                        buf[off] = (byte) data;
+                        read = 1;
+                    }
+                    return read;
+                }
+            }
+        );
+        MatcherAssert.assertThat(
+            "Header delivered byte by byte must be parsed completely",
+            new RqHeaders.Base(req).header("x-slow"),
+            Matchers.hasItem("yes")
+        );
+        MatcherAssert.assertThat(
+            "Body must follow the head delivered byte by byte",
+            new RqPrint(req).printBody(),
+            Matchers.equalTo("body")
+        );
+    }
+
 }
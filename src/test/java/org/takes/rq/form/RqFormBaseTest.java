@@ -5,10 +5,13 @@
 package org.takes.rq.form;
 
 import java.io.IOException;
+import java.net.HttpURLConnection;
 import java.util.Arrays;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.takes.HttpException;
 import org.takes.rq.RqBuffered;
 import org.takes.rq.RqFake;
 import org.takes.rq.RqForm;
@@ -73,4 +76,96 @@ final class RqFormBaseTest {
             Matchers.is(Boolean.TRUE)
         );
     }
+
+    @Test
+    void decodesUtfEightValues() throws IOException {
+        MatcherAssert.assertThat(
+            "Form parameter must be decoded as UTF-8",
+            new RqFormBase(
+                new RqFake("POST", "/", "Price=%E2%82%AC+5&price=+6 ")
+            ).param("price"),
+            Matchers.contains("\u20ac 5", " 6")
+        );
+    }
+
+    @Test
+    void rejectsTooLongField() {
+        final HttpException ex = Assertions.assertThrows(
+            HttpException.class,
+            () -> new RqFormBase(
+                new RqFake("POST", "/", "a=b&text=too+long+value"), 8, 1024L
+            ).names()
+        );
+        MatcherAssert.assertThat(
+            "Too long field must be rejected with 413",
+            ex.code(),
+            Matchers.equalTo(HttpURLConnection.HTTP_ENTITY_TOO_LARGE)
+        );
+    }
+
+    @Test
+    void rejectsBrokenPercentEncoding() {
+        final HttpException ex = Assertions.assertThrows(
+            HttpException.class,
+            () -> new RqFormBase(new RqFake("POST", "/", "a=%G1")).names()
+        );
+        MatcherAssert.assertThat(
+            "Broken percent-encoding must be rejected with 400",
+            ex.code(),
+            Matchers.equalTo(HttpURLConnection.HTTP_BAD_REQUEST)
+        );
+    }
+
+    @Test
+    void readsChunkedBody() throws IOException {
+        MatcherAssert.assertThat(
+            "Chunked form body must be decoded without chunk sizes",
+            new RqFormBase(
+                new RqFake(
+                    Arrays.asList(
+                        "POST / HTTP/1.1",
+                        "Host: www.example.com",
+                        "Transfer-Encoding: chunked"
+                    ),
+                    "7\r\nalpha=1\r\n0\r\n\r\n"
+                )
+            ).names(),
+            Matchers.contains("alpha")
+        );
+    }
+
+    @Test
+    void lowersNamesBeforeDecoding() throws IOException {
+        MatcherAssert.assertThat(
+            "Names must be lower cased before percent-decoding",
+            new RqFormBase(new RqFake("POST", "/", "%41Bc=1")).names(),
+            Matchers.contains("Abc")
+        );
+    }
+
+    @Test
+    void acceptsFieldWithEscapeAtLimit() throws IOException {
+        MatcherAssert.assertThat(
+            "Field of exactly the maximum length must be accepted",
+            new RqFormBase(
+                new RqFake("POST", "/", "a=bc%41"), 5, 1024L
+            ).param("a"),
+            Matchers.contains("bcA")
+        );
+    }
+
+    @Test
+    void rejectsFieldWithEscapeOverLimit() {
+        final HttpException ex = Assertions.assertThrows(
+            HttpException.class,
+            () -> new RqFormBase(
+                new RqFake("POST", "/", "a=bcd%41"), 5, 1024L
+            ).names()
+        );
+        MatcherAssert.assertThat(
+            "Field one byte over the limit, with an escape, must be rejected",
+            ex.code(),
+            Matchers.equalTo(HttpURLConnection.HTTP_ENTITY_TOO_LARGE)
+        );
+    }
 }
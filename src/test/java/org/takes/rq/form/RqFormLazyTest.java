@@ -0,0 +1,108 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.rq.form;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.takes.rq.RequestOf;
+import org.takes.rq.RqFake;
+import org.takes.rq.RqForm;
+
+/**
+ * Test case for {@link RqFormLazy}.
+ * @since 2.0
+ */
+final class RqFormLazyTest {
+
+    @Test
+    void stopsAtRequestedParam() throws IOException {
+        final StringBuilder body = new StringBuilder("action=save");
+        for (int idx = 0; idx < 10_000; ++idx) {
+            body.append("&field").append(idx).append("=value");
+        }
+        final InputStream stream = new ByteArrayInputStream(
+            body.toString().getBytes(StandardCharsets.UTF_8)
+        );
+        final RqFormLazy form = new RqFormLazy(
+            new RequestOf(
+                Collections.singletonList("POST / HTTP/1.1"), stream
+            )
+        );
+        MatcherAssert.assertThat(
+            "Must find the first param",
+            form.first("action").get(),
+            Matchers.equalTo("save")
+        );
+        MatcherAssert.assertThat(
+            "Must not read the whole body to find the first param",
+            stream.available(),
+            Matchers.greaterThan(0)
+        );
+    }
+
+    @Test
+    void findsAllNames() throws IOException {
+        final RqForm form = new RqFormLazy(
+            new RqFake("POST", "/", "a=1&b=2&c=3")
+        );
+        MatcherAssert.assertThat(
+            "Must find a param after another one",
+            form.param("b"),
+            Matchers.contains("2")
+        );
+        MatcherAssert.assertThat(
+            "Must decode the rest of the body for names",
+            form.names(),
+            Matchers.containsInAnyOrder("a", "b", "c")
+        );
+        MatcherAssert.assertThat(
+            "Must not find absent param",
+            form.param("d"),
+            Matchers.emptyIterable()
+        );
+    }
+
+    @Test
+    void readsChunkedBody() throws IOException {
+        MatcherAssert.assertThat(
+            "Chunked form body must be decoded without chunk sizes",
+            new RqFormLazy(
+                new RqFake(
+                    Arrays.asList(
+                        "POST / HTTP/1.1",
+                        "Host: www.example.com",
+                        "Transfer-Encoding: chunked"
+                    ),
+                    "7\r\nalpha=1\r\n0\r\n\r\n"
+                )
+            ).param("alpha"),
+            Matchers.contains("1")
+        );
+    }
+
+    @Test
+    void givesAllValuesOfParam() throws IOException {
+        final RqFormLazy form = new RqFormLazy(
+            new RqFake("POST", "/", "x=1&y=2&X=3")
+        );
+        MatcherAssert.assertThat(
+            "Must find the first value only",
+            form.first("x").get(),
+            Matchers.equalTo("1")
+        );
+        MatcherAssert.assertThat(
+            "Must give all values of the param",
+            form.param("x"),
+            Matchers.contains("1", "3")
+        );
+    }
+}
@@ -4,6 +4,7 @@
  */
 package org.takes.rq.multipart;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -11,9 +12,9 @@ import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import org.apache.commons.io.input.ClosedInputStream;
 import org.hamcrest.core.IsEqual;
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.llorllale.cactoos.matchers.Assertion;
 
@@ -25,7 +26,6 @@ import org.llorllale.cactoos.matchers.Assertion;
 final class CopyBytesUntilBoundaryTest {
 
     @Test
-    @Disabled
     @SuppressWarnings("PMD.CloseResource")
     void copiesLastRepeatedBytes() throws IOException {
         try (
@@ -52,4 +52,36 @@ final class CopyBytesUntilBoundaryTest {
             ).affirm();
         }
     }
+
+    @Test
+    void copiesBytesBeforeBoundaryAcrossReads() throws IOException {
+        final StringBuilder text = new StringBuilder(4096);
+        for (int idx = 0; idx < 512; ++idx) {
+            text.append("\r\n-").append(idx);
+        }
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.flip();
+        new CopyBytesUntilBoundary(
+            Channels.newChannel(output),
+            "\r\n--x".getBytes(StandardCharsets.UTF_8),
+            Channels.newChannel(
+                new ByteArrayInputStream(
+                    text.append("\r\n--x\r\nrest").toString()
+                        .getBytes(StandardCharsets.UTF_8)
+                )
+            ),
+            buffer
+        ).copy();
+        new Assertion<>(
+            "Must copy all bytes before the boundary",
+            new String(output.toByteArray(), StandardCharsets.UTF_8),
+            new IsEqual<>(text.substring(0, text.length() - 11))
+        ).affirm();
+        new Assertion<>(
+            "Must stop right after the boundary",
+            (char) buffer.get(),
+            new IsEqual<>('\r')
+        ).affirm();
+    }
 }
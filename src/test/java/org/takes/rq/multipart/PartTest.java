@@ -0,0 +1,127 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.rq.multipart;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.cactoos.text.Joined;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.takes.Request;
+import org.takes.rq.RqFake;
+
+/**
+ * Test case for {@link Part}.
+ * @since 2.0
+ */
+final class PartTest {
+
+    /**
+     * Body of the part.
+     */
+    private static final String CONTENT = "the content of the file";
+
+    @Test
+    void transfersPartFromFile(@TempDir final Path temp) throws IOException {
+        final RqMtBase multipart = new RqMtBase(PartTest.request(), 0, 0L);
+        final Path target = temp.resolve("file.txt");
+        try {
+            new Part.Smart(
+                new RqMtSmart(multipart).single("file")
+            ).transferTo(target);
+        } finally {
+            multipart.body().close();
+        }
+        MatcherAssert.assertThat(
+            "Must move the body of the part to the file",
+            new String(Files.readAllBytes(target), StandardCharsets.UTF_8),
+            Matchers.equalTo(PartTest.CONTENT)
+        );
+    }
+
+    @Test
+    void transfersPartFromOpenedFile(@TempDir final Path temp)
+        throws IOException {
+        final RqMtBase multipart = new RqMtBase(PartTest.request(), 0, 0L);
+        final Path target = temp.resolve("opened.txt");
+        try {
+            final Request part = new RqMtSmart(multipart).single("file");
+            part.body().read();
+            new Part.Smart(part).transferTo(target);
+            Assertions.assertThrows(
+                IOException.class,
+                () -> part.body().read()
+            );
+        } finally {
+            multipart.body().close();
+        }
+        MatcherAssert.assertThat(
+            "Must move the body of the part, which was opened, to the file",
+            new String(Files.readAllBytes(target), StandardCharsets.UTF_8),
+            Matchers.equalTo(PartTest.CONTENT)
+        );
+    }
+
+    @Test
+    void transfersPartFromMemory(@TempDir final Path temp)
+        throws IOException {
+        final RqMtBase multipart = new RqMtBase(PartTest.request());
+        final Path target = temp.resolve("memory.txt");
+        try {
+            new Part.Smart(
+                new RqMtSmart(multipart).single("file")
+            ).transferTo(target);
+        } finally {
+            multipart.body().close();
+        }
+        MatcherAssert.assertThat(
+            "Must write the body of the part to the file",
+            new String(Files.readAllBytes(target), StandardCharsets.UTF_8),
+            Matchers.equalTo(PartTest.CONTENT)
+        );
+    }
+
+    @Test
+    void transfersAnyRequest(@TempDir final Path temp) throws IOException {
+        final Path target = temp.resolve("any.txt");
+        new Part.Smart(new RqFake("POST", "/", PartTest.CONTENT))
+            .transferTo(target);
+        MatcherAssert.assertThat(
+            "Must copy the body of the request to the file",
+            new String(Files.readAllBytes(target), StandardCharsets.UTF_8),
+            Matchers.equalTo(PartTest.CONTENT)
+        );
+    }
+
+    /**
+     * Multipart request with one file.
+     * @return Request
+     */
+    private static Request request() {
+        final String body = new Joined(
+            "\r\n",
+            "--AaB01x",
+            "Content-Disposition: form-data; name=\"file\"; filename=\"a.txt\"",
+            "",
+            PartTest.CONTENT,
+            "--AaB01x--"
+        ).toString();
+        return new RqFake(
+            Arrays.asList(
+                "POST /upload HTTP/1.1",
+                "Host: www.example.com",
+                "Content-Type: multipart/form-data; boundary=AaB01x",
+                String.format("Content-Length: %d", body.length())
+            ),
+            body
+        );
+    }
+}
@@ -4,16 +4,24 @@
  */
 package org.takes.rq.multipart;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.Arrays;
 import org.cactoos.text.Joined;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.takes.Request;
 import org.takes.facets.hamcrest.HmHeader;
+import org.takes.rq.RequestOf;
 import org.takes.rq.RqFake;
+import org.takes.rq.RqPrint;
 import org.takes.rq.RqWithHeaders;
 
 /**
@@ -168,6 +176,96 @@ final class RqMtBaseTest {
         }
     }
 
+    @Test
+    void readsPartsInMemoryAndInFiles() throws IOException {
+        final String small = "tiny";
+        final String large = "a part that doesn't fit into memory";
+        final RqMtBase multipart = new RqMtBase(
+            new RqFake(
+                Arrays.asList(
+                    "POST /h?a=6 HTTP/1.1",
+                    "Host: rtw.example.com",
+                    RqMtBaseTest.CONTENT_TYPE
+                ),
+                new Joined(
+                    RqMtBaseTest.CRLF,
+                    RqMtBaseTest.BODY_ELEMENT,
+                    String.format(RqMtBaseTest.CONTENT, "small"),
+                    "",
+                    small,
+                    RqMtBaseTest.BODY_ELEMENT,
+                    String.format(RqMtBaseTest.CONTENT, "large"),
+                    "",
+                    large,
+                    "--AaB01x--"
+                ).toString()
+            ),
+            96,
+            256L
+        );
+        try {
+            MatcherAssert.assertThat(
+                "Parts must be read the same way from memory and from files",
+                Arrays.asList(
+                    new RqPrint(
+                        multipart.part("small").iterator().next()
+                    ).printBody(),
+                    new RqPrint(
+                        multipart.part("large").iterator().next()
+                    ).printBody()
+                ),
+                Matchers.contains(small, large)
+            );
+        } finally {
+            multipart.body().close();
+        }
+    }
+
+    @Test
+    void deletesFilesOfBrokenRequest(@TempDir final Path temp)
+        throws Exception {
+        final byte[] bytes = new Joined(
+            RqMtBaseTest.CRLF,
+            RqMtBaseTest.BODY_ELEMENT,
+            String.format(RqMtBaseTest.CONTENT, "large"),
+            "",
+            "a part that goes to a temporary file",
+            RqMtBaseTest.BODY_ELEMENT,
+            String.format(RqMtBaseTest.CONTENT, "broken"),
+            "",
+            "a part that is never finished"
+        ).asString().getBytes(StandardCharsets.UTF_8);
+        Assertions.assertThrows(
+            IOException.class,
+            () -> new RqMtBase(
+                new RequestOf(
+                    () -> Arrays.asList(
+                        "POST /h?a=7 HTTP/1.1",
+                        "Host: rtw.example.com",
+                        RqMtBaseTest.CONTENT_TYPE
+                    ),
+                    () -> new SequenceInputStream(
+                        new ByteArrayInputStream(bytes),
+                        new InputStream() {
+                            @Override
+                            public int read() throws IOException {
+                                throw new IOException("connection is lost");
+                            }
+                        }
+                    )
+                ),
+                8,
+                8L,
+                temp.toFile()
+            )
+        );
+        MatcherAssert.assertThat(
+            "Temporary files of a broken request must be deleted",
+            temp.toFile().list(),
+            Matchers.emptyArray()
+        );
+    }
+
     /**
      * Format Content-Disposition header.
      * @param dsp Disposition
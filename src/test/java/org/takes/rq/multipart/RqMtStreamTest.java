@@ -0,0 +1,183 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.rq.multipart;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.cactoos.text.Joined;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.takes.HttpException;
+import org.takes.Request;
+import org.takes.rq.RqFake;
+import org.takes.rq.RqHeaders;
+
+/**
+ * Test case for {@link RqMtStream}.
+ * @since 2.0
+ */
+final class RqMtStreamTest {
+
+    /**
+     * Carriage return constant.
+     */
+    private static final String CRLF = "\r\n";
+
+    @Test
+    void visitsPartsInOrder() throws IOException {
+        final List<String> names = new ArrayList<>(2);
+        final List<ByteArrayOutputStream> bodies = new ArrayList<>(2);
+        new RqMtStream(RqMtStreamTest.request()).visit(
+            head -> {
+                names.add(
+                    new RqHeaders.Smart(head).single("Content-Disposition")
+                );
+                final ByteArrayOutputStream body = new ByteArrayOutputStream();
+                bodies.add(body);
+                return Channels.newChannel(body);
+            }
+        );
+        MatcherAssert.assertThat(
+            "Must visit all parts with their headers",
+            names,
+            Matchers.contains(
+                "form-data; name=\"address\"",
+                "form-data; name=\"data\"; filename=\"a.bin\""
+            )
+        );
+        MatcherAssert.assertThat(
+            "Must write bodies of all parts",
+            Arrays.asList(bodies.get(0).toString(), bodies.get(1).toString()),
+            Matchers.contains("447 N Wolfe Rd", "")
+        );
+    }
+
+    @Test
+    void stopsWhenVisitorFails() {
+        final List<String> names = new ArrayList<>(1);
+        Assertions.assertThrows(
+            IOException.class,
+            () -> new RqMtStream(RqMtStreamTest.request()).visit(
+                head -> {
+                    names.add(head.head().iterator().next());
+                    throw new IOException("too big");
+                }
+            )
+        );
+        MatcherAssert.assertThat(
+            "Must not visit parts after failure",
+            names,
+            Matchers.hasSize(1)
+        );
+    }
+
+    @Test
+    void skipsBodies() throws IOException {
+        final List<Request> heads = new ArrayList<>(2);
+        new RqMtStream(RqMtStreamTest.request()).visit(
+            head -> {
+                heads.add(head);
+                return new RqMtStream.Skip();
+            }
+        );
+        MatcherAssert.assertThat(
+            "Must visit parts, skipping their bodies",
+            heads,
+            Matchers.hasSize(2)
+        );
+    }
+
+    @Test
+    void visitsPartEndingAtBoundary() throws IOException {
+        final String body = new Joined(
+            RqMtStreamTest.CRLF,
+            "--AaB01x",
+            "Content-Disposition: form-data; name=\"empty\"",
+            "Content-Transfer-Encoding: utf-8",
+            "--AaB01x--"
+        ).toString();
+        final List<Request> heads = new ArrayList<>(1);
+        new RqMtStream(
+            new RqFake(
+                Arrays.asList(
+                    "POST /upload HTTP/1.1",
+                    "Host: www.example.com",
+                    "Content-Type: multipart/form-data; boundary=AaB01x",
+                    String.format("Content-Length: %d", body.length())
+                ),
+                body
+            )
+        ).visit(
+            head -> {
+                heads.add(head);
+                return new RqMtStream.Skip();
+            }
+        );
+        MatcherAssert.assertThat(
+            "Must take headers, which end at the boundary",
+            new RqHeaders.Smart(heads.get(0))
+                .single("Content-Transfer-Encoding"),
+            Matchers.equalTo("utf-8")
+        );
+    }
+
+    @Test
+    void rejectsBodyWithoutClosingBoundary() {
+        final String body = new Joined(
+            RqMtStreamTest.CRLF,
+            "--AaB01x",
+            "Content-Disposition: form-data; name=\"cut\""
+        ).toString();
+        Assertions.assertThrows(
+            HttpException.class,
+            () -> new RqMtStream(
+                new RqFake(
+                    Arrays.asList(
+                        "POST /upload HTTP/1.1",
+                        "Host: www.example.com",
+                        "Content-Type: multipart/form-data; boundary=AaB01x",
+                        String.format("Content-Length: %d", body.length())
+                    ),
+                    body
+                )
+            ).visit(head -> new RqMtStream.Skip())
+        );
+    }
+
+    /**
+     * Multipart request with two parts.
+     * @return Request
+     */
+    private static Request request() {
+        final String body = new Joined(
+            RqMtStreamTest.CRLF,
+            "--AaB01x",
+            "Content-Disposition: form-data; name=\"address\"",
+            "",
+            "447 N Wolfe Rd",
+            "--AaB01x",
+            "Content-Disposition: form-data; name=\"data\"; filename=\"a.bin\"",
+            "Content-Type: application/octet-stream",
+            "",
+            "",
+            "--AaB01x--"
+        ).toString();
+        return new RqFake(
+            Arrays.asList(
+                "POST /upload HTTP/1.1",
+                "Host: www.example.com",
+                "Content-Type: multipart/form-data; boundary=AaB01x",
+                String.format("Content-Length: %d", body.length())
+            ),
+            body
+        );
+    }
+}
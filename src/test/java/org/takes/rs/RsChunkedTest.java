@@ -0,0 +1,69 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.takes.rs;
+
+import java.io.ByteArrayInputStream;
+import org.cactoos.text.Joined;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.IsText;
+
+/**
+ * Test case for {@link RsChunked}.
+ * @since 2.0
+ */
+final class RsChunkedTest {
+
+    @Test
+    void sendsBodyInChunks() {
+        new Assertion<>(
+            "Response must be chunked, without Content-Length",
+            new RsPrint(new RsChunked(new RsWithBody("Jeffrey"))),
+            new IsText(
+                new Joined(
+                    "\r\n",
+                    "HTTP/1.1 200 OK",
+                    "Transfer-Encoding: chunked",
+                    "",
+                    "7",
+                    "Jeffrey",
+                    "0",
+                    "",
+                    ""
+                )
+            )
+        ).affirm();
+    }
+
+    @Test
+    void splitsLongBody() throws Exception {
+        final byte[] body = new byte[20_000];
+        MatcherAssert.assertThat(
+            "Long body must be split into chunks of limited size",
+            new RsPrint(
+                new RsChunked(
+                    new RsWithBody(new RsEmpty(), new ByteArrayInputStream(body))
+                )
+            ).printBody(),
+            Matchers.allOf(
+                Matchers.startsWith("2000\r\n"),
+                Matchers.containsString("\r\n2000\r\n"),
+                Matchers.containsString("\r\ne20\r\n"),
+                Matchers.endsWith("\r\n0\r\n\r\n")
+            )
+        );
+    }
+
+    @Test
+    void sendsEmptyBody() throws Exception {
+        MatcherAssert.assertThat(
+            "Empty body must be sent as the last chunk only",
+            new RsBodyPrint(new RsChunked(new RsEmpty())).asString(),
+            Matchers.equalTo("0\r\n\r\n")
+        );
+    }
+}
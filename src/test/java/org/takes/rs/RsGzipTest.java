@@ -9,6 +9,8 @@ import java.awt.image.RenderedImage;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.Deflater;
 import java.util.zip.GZIPInputStream;
 import javax.imageio.ImageIO;
 import org.apache.commons.io.IOUtils;
@@ -73,19 +75,69 @@ final class RsGzipTest {
     }
 
     @Test
-    void reportsCorrectContentLength() throws IOException {
-        final String text = "some text to encode";
-        final Response response = new RsGzip(new RsText(text));
+    void streamsBodyWithoutContentLength() throws IOException {
+        final byte[] body = new byte[1 << 20];
+        new Random().nextBytes(body);
+        final Response response = new RsGzip(new RsWithBody(body));
         MatcherAssert.assertThat(
-            "Gzip response must report correct compressed content length",
+            "Gzip response must not have the length of the original body",
             new RsHeadPrint(response).asString(),
-            Matchers.containsString(
-                String.format(
-                    "Content-Length: %d",
-                    new RsBodyPrint(response).asString().length()
+            Matchers.not(Matchers.containsString("Content-Length"))
+        );
+        MatcherAssert.assertThat(
+            "Decompressed long body must match the original one",
+            IOUtils.toByteArray(new GZIPInputStream(response.body())),
+            Matchers.equalTo(body)
+        );
+    }
+
+    @Test
+    void skipsCompressedContent() throws IOException {
+        MatcherAssert.assertThat(
+            "Compressed content type must not be compressed again",
+            new RsHeadPrint(
+                new RsGzip(
+                    new RsWithType(new RsWithBody("PNG"), "image/png")
                 )
+            ).asString(),
+            Matchers.not(Matchers.containsString("Content-Encoding"))
+        );
+    }
+
+    @Test
+    void skipsShortBody() throws Exception {
+        MatcherAssert.assertThat(
+            "Body shorter than the minimum must not be compressed",
+            new RsPrint(
+                new RsGzip(new RsText("short"), Deflater.BEST_SPEED, 100L)
+            ).asString(),
+            Matchers.allOf(
+                Matchers.containsString("Content-Length: 5\r\n"),
+                Matchers.not(Matchers.containsString("Content-Encoding")),
+                Matchers.endsWith("short")
             )
         );
     }
 
+    @Test
+    void compressesBodyWithBrokenLength() throws IOException {
+        MatcherAssert.assertThat(
+            "Body with broken Content-Length must be compressed",
+            new RsHeadPrint(
+                new RsGzip(
+                    new RsWithHeader(
+                        new RsWithoutHeader(
+                            new RsWithBody("broken"), "Content-Length"
+                        ),
+                        "Content-Length",
+                        "many"
+                    ),
+                    Deflater.BEST_SPEED,
+                    100L
+                )
+            ).asString(),
+            Matchers.containsString("Content-Encoding: gzip")
+        );
+    }
+
 }
@@ -63,4 +63,34 @@ final class RsPrintTest {
             )
         );
     }
+
+    @Test
+    void printsLongHead() throws Exception {
+        final String value = new String(new char[1000]).replace('\0', 'x');
+        MatcherAssert.assertThat(
+            "must write all header lines, even if they are long",
+            new RsPrint(
+                new RsWithHeader(
+                    new RsWithHeader(new RsEmpty(), "X-First", value),
+                    "X-Second", value
+                )
+            ).asString(),
+            new IsEqual<>(
+                String.format(
+                    "HTTP/1.1 204 No Content\r\nX-First: %s\r\nX-Second: %1$s\r\n\r\n",
+                    value
+                )
+            )
+        );
+    }
+
+    @Test
+    void failsOnInvalidStatusLine() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            new RsPrint(
+                new RsSimple(new IterableOf<>("HTTP/1.1 20 OK"), "")
+            )::asString
+        );
+    }
 }
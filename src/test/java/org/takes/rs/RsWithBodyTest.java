@@ -6,9 +6,13 @@ package org.takes.rs;
 
 import java.io.IOException;
 import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.takes.Response;
 
 /**
@@ -33,4 +37,16 @@ final class RsWithBodyTest {
         );
     }
 
+    @Test
+    void buildsResponseWithFileBody(@TempDir final Path temp)
+        throws IOException {
+        final Path file = temp.resolve("body.txt");
+        Files.write(file, "Walter".getBytes(StandardCharsets.UTF_8));
+        MatcherAssert.assertThat(
+            "Response with file body must include exact length and content",
+            new RsPrint(new RsWithBody(file)).print(),
+            Matchers.containsString("Content-Length: 6\r\n\r\nWalter")
+        );
+    }
+
 }
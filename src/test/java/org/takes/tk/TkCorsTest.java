@@ -5,6 +5,7 @@
 package org.takes.tk;
 
 import java.net.HttpURLConnection;
+import java.util.Arrays;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
@@ -76,4 +77,122 @@ final class TkCorsTest {
             )
         );
     }
+
+    @Test
+    void answersPreflightWithoutOrigin() throws Exception {
+        MatcherAssert.assertThat(
+            "Preflight request must be answered without the original take",
+            new RsHeadPrint(
+                new TkCors(
+                    new TkFailure("must not be called"),
+                    600L,
+                    Arrays.asList("X-Token", "Content-Type"),
+                    "http://www.teamed.io"
+                ).act(
+                    new RqWithHeaders(
+                        new RqFake("OPTIONS", "/"),
+                        "Origin: http://www.teamed.io",
+                        "Access-Control-Request-Method: PUT",
+                        "Access-Control-Request-Headers: X-Token, X-Secret"
+                    )
+                )
+            ).asString(),
+            Matchers.allOf(
+                Matchers.containsString("HTTP/1.1 204"),
+                Matchers.containsString(
+                    "Access-Control-Allow-Origin: http://www.teamed.io"
+                ),
+                Matchers.containsString("Access-Control-Max-Age: 600"),
+                Matchers.containsString(
+                    "Access-Control-Allow-Headers: X-Token, Content-Type"
+                ),
+                Matchers.not(Matchers.containsString("X-Secret"))
+            )
+        );
+    }
+
+    @Test
+    void allowsSubdomainsByWildcard() throws Exception {
+        MatcherAssert.assertThat(
+            "Subdomain must be allowed by the wildcard domain",
+            new RsHeadPrint(
+                new TkCors(
+                    new TkFixed(new RsText()),
+                    "https://*.teamed.io"
+                ).act(
+                    new RqWithHeaders(
+                        new RqFake(),
+                        "Origin: https://api.eu.teamed.io"
+                    )
+                )
+            ).asString(),
+            Matchers.allOf(
+                Matchers.containsString("HTTP/1.1 200"),
+                Matchers.containsString(
+                    "Access-Control-Allow-Origin: https://api.eu.teamed.io"
+                )
+            )
+        );
+    }
+
+    @Test
+    void rejectsParentOfWildcardDomain() throws Exception {
+        MatcherAssert.assertThat(
+            "Parent domain must not be allowed by the wildcard domain",
+            new TkCors(
+                new TkFixed(new RsText()),
+                "https://*.teamed.io"
+            ).act(
+                new RqWithHeaders(new RqFake(), "Origin: https://teamed.io")
+            ),
+            new HmRsStatus(HttpURLConnection.HTTP_FORBIDDEN)
+        );
+    }
+
+    @Test
+    void allowsAnyOriginWithoutCredentials() throws Exception {
+        MatcherAssert.assertThat(
+            "Any origin must be allowed by a literal wildcard",
+            new RsHeadPrint(
+                new TkCors(new TkFixed(new RsText()), "*").act(
+                    new RqWithHeaders(
+                        new RqFake(),
+                        "Origin: https://evil.example.com"
+                    )
+                )
+            ).asString(),
+            Matchers.allOf(
+                Matchers.containsString("HTTP/1.1 200"),
+                Matchers.containsString("Access-Control-Allow-Origin: *"),
+                Matchers.not(
+                    Matchers.containsString("Access-Control-Allow-Credentials")
+                ),
+                Matchers.not(Matchers.containsString("evil"))
+            )
+        );
+    }
+
+    @Test
+    void variesByOrigin() throws Exception {
+        MatcherAssert.assertThat(
+            "Response must vary by origin",
+            new RsHeadPrint(
+                new TkCors(
+                    new TkFixed(new RsText()),
+                    "http://teamed.io"
+                ).act(
+                    new RqWithHeaders(
+                        new RqFake(),
+                        "Origin: http://teamed.io"
+                    )
+                )
+            ).asString(),
+            Matchers.allOf(
+                Matchers.containsString("Vary: Origin"),
+                Matchers.containsString(
+                    "Access-Control-Allow-Credentials: true"
+                )
+            )
+        );
+    }
 }